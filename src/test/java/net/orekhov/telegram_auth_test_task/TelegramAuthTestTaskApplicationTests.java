@@ -1,13 +0,0 @@
-package net.orekhov.telegram_auth_test_task;
-
-import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
-
-@SpringBootTest
-class TelegramAuthTestTaskApplicationTests {
-
-    @Test
-    void contextLoads() {
-    }
-
-}
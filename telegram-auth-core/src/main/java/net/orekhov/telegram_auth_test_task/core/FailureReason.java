@@ -0,0 +1,47 @@
+package net.orekhov.telegram_auth_test_task.core;
+
+/**
+ * Причина неуспешной проверки initData.
+ *
+ * <p>Значения предсоздаются JVM, поэтому сообщение о причине не требует аллокаций,
+ * а вызывающий код (фильтр, метрики, ограничение частоты) может ветвиться по {@code switch}.
+ */
+public enum FailureReason {
+
+    /** initData отсутствует или пуст. */
+    EMPTY,
+    /** Нет поля {@code hash}. */
+    NO_HASH,
+    /** Нет поля {@code id}. */
+    NO_ID,
+    /** Подпись не совпадает. */
+    BAD_SIGNATURE,
+    /** {@code auth_date} старше допустимого возраста. */
+    EXPIRED,
+    /** Строка не разбирается: повторяющиеся ключи, некорректные {@code auth_date} и т.п. */
+    MALFORMED,
+    /** Внутренняя ошибка: не настроен токен, недоступен HMAC и т.п. */
+    INTERNAL_ERROR;
+
+    private static final FailureReason[] VALUES = values();
+
+    /**
+     * Код причины для бинарных форматов (журнал входов, сводка аудита).
+     *
+     * @param reason причина или {@code null}
+     * @return {@code 0} для {@code null}, иначе {@code ordinal() + 1}
+     */
+    public static byte code(FailureReason reason) {
+        return reason == null ? 0 : (byte) (reason.ordinal() + 1);
+    }
+
+    /**
+     * Восстанавливает причину по коду из {@link #code(FailureReason)}.
+     *
+     * @param code код причины
+     * @return причина или {@code null}, если код равен 0 или неизвестен
+     */
+    public static FailureReason fromCode(byte code) {
+        return code > 0 && code <= VALUES.length ? VALUES[code - 1] : null;
+    }
+}
@@ -0,0 +1,259 @@
+package net.orekhov.telegram_auth_test_task.core;
+
+import net.orekhov.telegram_auth_test_task.util.PercentDecoder;
+import net.orekhov.telegram_auth_test_task.util.TelegramDataUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Проверка подписи initData Telegram WebApp без зависимостей от Spring и логирования.
+ *
+ * <p>Подходит для встраивания в Netty-обработчики, serverless-функции и пакетные задачи:
+ * экземпляр создаётся один раз на токен бота, потокобезопасен и не использует рефлексию.
+ * Ключ HMAC-SHA256 подготавливается в конструкторе, экземпляры {@link Mac} переиспользуются по потокам.
+ *
+ * <p>Значения initData декодируются {@link PercentDecoder} один раз в байтовый буфер потока: из него
+ * создаются строки результата, и из него же собирается строка проверки данных, которая передаётся
+ * в HMAC без повторного кодирования в UTF-8.
+ */
+public final class TelegramInitDataVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    /** Буферы длиннее этого размера не сохраняются в потоке, чтобы один огромный initData не держал память. */
+    private static final int MAX_CACHED_BUFFER = 16 * 1024;
+    /** Буферы потока: декодированные значения и строка проверки данных. */
+    private static final ThreadLocal<byte[][]> BUFFERS = ThreadLocal.withInitial(() -> new byte[][]{new byte[1024], new byte[1024]});
+
+    /** Поле initData: ключ и диапазон его декодированного значения в буфере значений. */
+    private record Field(String key, int valueFrom, int valueTo) {}
+
+    private final SecretKeySpec keySpec;
+    private final ThreadLocal<Mac> mac;
+    private final long maxAgeSeconds;
+
+    /**
+     * Создаёт верификатор без ограничения возраста {@code auth_date}.
+     *
+     * @param botToken токен бота
+     * @throws IllegalArgumentException если токен пуст
+     */
+    public TelegramInitDataVerifier(String botToken) {
+        this(botToken, 0);
+    }
+
+    /**
+     * @param botToken      токен бота
+     * @param maxAgeSeconds максимальный возраст {@code auth_date} в секундах; {@code 0} — без ограничения
+     * @throws IllegalArgumentException если токен пуст
+     */
+    public TelegramInitDataVerifier(String botToken, long maxAgeSeconds) {
+        if (botToken == null || botToken.isBlank()) {
+            throw new IllegalArgumentException("botToken не задан");
+        }
+        this.keySpec = new SecretKeySpec(("WebAppData" + botToken).getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    /**
+     * Разбирает initData и проверяет его.
+     * <p>
+     * Дешёвые проверки (наличие полей, возраст) выполняются до вычисления HMAC.
+     * Отказ возвращается предсозданным {@link VerificationResult} без исключений.
+     *
+     * @param initData строка, полученная от Telegram WebApp
+     * @return проверенные данные без поля {@code hash} либо причина отказа
+     */
+    public VerificationResult verify(String initData) {
+        if (initData == null || initData.isBlank()) {
+            return VerificationResult.failure(FailureReason.EMPTY);
+        }
+
+        byte[] src = initData.getBytes(StandardCharsets.UTF_8);
+        byte[][] buffers = buffers(src.length);
+        List<Field> fields = new ArrayList<>();
+        Map<String, String> dataMap = parse(src, buffers[0], fields);
+        if (dataMap == null) {
+            return VerificationResult.failure(FailureReason.MALFORMED);
+        }
+
+        String hash = dataMap.remove("hash");
+        if (hash == null || hash.isBlank()) {
+            return VerificationResult.failure(FailureReason.NO_HASH);
+        }
+        if (!dataMap.containsKey("id")) {
+            return VerificationResult.failure(FailureReason.NO_ID);
+        }
+
+        String authDateValue = dataMap.get("auth_date");
+        long authDate = TelegramDataUtils.parseNonNegativeLong(authDateValue);
+        if (authDateValue != null && authDate < 0) {
+            return VerificationResult.failure(FailureReason.MALFORMED);
+        }
+        if (maxAgeSeconds > 0) {
+            if (authDate < 0) {
+                return VerificationResult.failure(FailureReason.MALFORMED);
+            }
+            if (System.currentTimeMillis() / 1000 - authDate > maxAgeSeconds) {
+                return VerificationResult.failure(FailureReason.EXPIRED);
+            }
+        }
+
+        String calcHash;
+        try {
+            calcHash = calculateHash(buffers[0], fields, buffers[1]);
+        } catch (IllegalStateException e) {
+            return VerificationResult.failure(FailureReason.INTERNAL_ERROR);
+        }
+        if (!constantTimeEquals(calcHash, hash)) {
+            return VerificationResult.failure(FailureReason.BAD_SIGNATURE);
+        }
+        return VerificationResult.success(VerifiedInitData.of(dataMap));
+    }
+
+    /**
+     * Сравнивает подпись за постоянное время.
+     *
+     * @param dataCheckString строка проверки данных
+     * @param hash            подпись от клиента в hex
+     * @return {@code true}, если подпись верна
+     */
+    public boolean hashMatches(String dataCheckString, String hash) {
+        return constantTimeEquals(calculateHash(dataCheckString), hash);
+    }
+
+    /**
+     * Вычисляет HMAC-SHA256 строки проверки данных.
+     *
+     * @param dataCheckString строка проверки данных
+     * @return подпись в hex (нижний регистр)
+     */
+    public String calculateHash(String dataCheckString) {
+        byte[] digest = mac.get().doFinal(dataCheckString.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    /**
+     * Строит строку проверки данных: пары {@code key=value}, отсортированные по ключу, через {@code '\n'}.
+     *
+     * @param data данные initData без поля {@code hash}
+     * @return строка проверки данных
+     */
+    public static String dataCheckString(Map<String, String> data) {
+        return data.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Разбирает initData так же, как {@link TelegramDataUtils#tryParseInitData(String)}, но декодирует
+     * значения в {@code values} и запоминает их диапазоны в {@code fields}.
+     *
+     * @return изменяемая карта параметров или {@code null}, если ключ повторяется
+     */
+    private static Map<String, String> parse(byte[] src, byte[] values, List<Field> fields) {
+        Map<String, String> result = new HashMap<>();
+        int valuePos = 0;
+        int start = 0;
+        while (start <= src.length) {
+            int end = indexOf(src, '&', start, src.length);
+            int eq = indexOf(src, '=', start, end);
+            if (eq < end) {
+                String key = new String(src, start, eq - start, StandardCharsets.UTF_8);
+                int length = PercentDecoder.decode(src, eq + 1, end, values, valuePos);
+                if (length == PercentDecoder.MALFORMED) {
+                    // некорректное значение остаётся как есть, как в TelegramDataUtils
+                    length = end - eq - 1;
+                    System.arraycopy(src, eq + 1, values, valuePos, length);
+                }
+                if (result.putIfAbsent(key, new String(values, valuePos, length, StandardCharsets.UTF_8)) != null) {
+                    return null;
+                }
+                fields.add(new Field(key, valuePos, valuePos + length));
+                valuePos += length;
+            }
+            start = end + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Собирает строку проверки данных (см. {@link #dataCheckString(Map)}) в {@code check} из уже
+     * декодированных значений и вычисляет её HMAC-SHA256.
+     */
+    private String calculateHash(byte[] values, List<Field> fields, byte[] check) {
+        fields.sort(Comparator.comparing(Field::key));
+        int pos = 0;
+        for (Field field : fields) {
+            if (field.key().equals("hash")) {
+                continue;
+            }
+            if (pos > 0) {
+                check[pos++] = '\n';
+            }
+            byte[] key = field.key().getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(key, 0, check, pos, key.length);
+            pos += key.length;
+            check[pos++] = '=';
+            int length = field.valueTo() - field.valueFrom();
+            System.arraycopy(values, field.valueFrom(), check, pos, length);
+            pos += length;
+        }
+        Mac instance = mac.get();
+        instance.update(check, 0, pos);
+        return HexFormat.of().formatHex(instance.doFinal());
+    }
+
+    /**
+     * Возвращает буферы потока не меньше {@code size}: и декодированные значения, и строка проверки
+     * данных не длиннее исходного initData.
+     */
+    private static byte[][] buffers(int size) {
+        byte[][] buffers = BUFFERS.get();
+        if (buffers[0].length >= size) {
+            return buffers;
+        }
+        byte[][] grown = {new byte[size], new byte[size]};
+        if (size <= MAX_CACHED_BUFFER) {
+            BUFFERS.set(grown);
+        }
+        return grown;
+    }
+
+    private static int indexOf(byte[] src, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (src[i] == c) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static boolean constantTimeEquals(String expected, String actual) {
+        return MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.US_ASCII),
+                actual.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(keySpec);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 недоступен", e);
+        }
+    }
+}
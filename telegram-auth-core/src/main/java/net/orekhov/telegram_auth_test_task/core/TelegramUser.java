@@ -0,0 +1,28 @@
+package net.orekhov.telegram_auth_test_task.core;
+
+import java.util.Map;
+
+/**
+ * Пользователь Telegram, извлечённый из проверенного initData.
+ *
+ * @param id        Telegram id в строковом виде
+ * @param firstName имя
+ * @param lastName  фамилия
+ * @param username  имя пользователя
+ */
+public record TelegramUser(String id, String firstName, String lastName, String username) {
+
+    /**
+     * Создаёт пользователя из проверенных данных initData; отсутствующие поля становятся пустыми строками.
+     *
+     * @param data карта параметров, например: id, first_name, last_name, username
+     * @return пользователь
+     */
+    public static TelegramUser fromInitData(Map<String, String> data) {
+        return new TelegramUser(
+                data.getOrDefault("id", ""),
+                data.getOrDefault("first_name", ""),
+                data.getOrDefault("last_name", ""),
+                data.getOrDefault("username", ""));
+    }
+}
@@ -0,0 +1,80 @@
+package net.orekhov.telegram_auth_test_task.core;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Результат проверки initData: проверенные данные либо причина отказа.
+ *
+ * <p>Результаты-отказы предсозданы по одному на каждую {@link FailureReason},
+ * поэтому путь отказа не выделяет память и не использует исключения.
+ */
+public final class VerificationResult {
+
+    private static final VerificationResult[] FAILURES;
+
+    static {
+        FailureReason[] reasons = FailureReason.values();
+        FAILURES = new VerificationResult[reasons.length];
+        for (FailureReason reason : reasons) {
+            FAILURES[reason.ordinal()] = new VerificationResult(null, reason);
+        }
+    }
+
+    private final VerifiedInitData data;
+    private final FailureReason reason;
+
+    private VerificationResult(VerifiedInitData data, FailureReason reason) {
+        this.data = data;
+        this.reason = reason;
+    }
+
+    /**
+     * @param data проверенные данные
+     * @return успешный результат
+     */
+    public static VerificationResult success(VerifiedInitData data) {
+        return new VerificationResult(data, null);
+    }
+
+    /**
+     * @param reason причина отказа
+     * @return предсозданный результат-отказ
+     */
+    public static VerificationResult failure(FailureReason reason) {
+        return FAILURES[reason.ordinal()];
+    }
+
+    /**
+     * @return {@code true}, если initData прошёл проверку
+     */
+    public boolean isValid() {
+        return data != null;
+    }
+
+    /**
+     * @return проверенные данные или {@code null} для отказа
+     */
+    public VerifiedInitData data() {
+        return data;
+    }
+
+    /**
+     * @return причина отказа или {@code null} для успешного результата
+     */
+    public FailureReason reason() {
+        return reason;
+    }
+
+    /**
+     * @return данные пользователя в виде {@link Optional} для кода, которому не нужна причина
+     */
+    public Optional<Map<String, String>> toOptional() {
+        return data != null ? Optional.of(data.asMap()) : Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return data != null ? "VerificationResult{valid, " + data + "}" : "VerificationResult{" + reason + "}";
+    }
+}
@@ -0,0 +1,64 @@
+package net.orekhov.telegram_auth_test_task.core;
+
+import net.orekhov.telegram_auth_test_task.util.TelegramDataUtils;
+
+import java.util.Map;
+
+/**
+ * Неизменяемые данные initData, прошедшие проверку подписи.
+ */
+public final class VerifiedInitData {
+
+    private final Map<String, String> data;
+    private final long userId;
+    private final long authDate;
+
+    private VerifiedInitData(Map<String, String> data) {
+        this.data = Map.copyOf(data);
+        this.userId = TelegramDataUtils.parseUserId(this.data.get("id"));
+        this.authDate = TelegramDataUtils.parseNonNegativeLong(this.data.get("auth_date"));
+    }
+
+    /**
+     * Создаёт объект из проверенных данных (например, из кэша).
+     *
+     * @param data данные initData без поля {@code hash}
+     * @return неизменяемые проверенные данные
+     */
+    public static VerifiedInitData of(Map<String, String> data) {
+        return new VerifiedInitData(data);
+    }
+
+    /**
+     * @return все поля initData, кроме {@code hash}, в неизменяемой карте
+     */
+    public Map<String, String> asMap() {
+        return data;
+    }
+
+    /**
+     * @return Telegram id пользователя или {@code -1}, если id не числовой
+     */
+    public long userId() {
+        return userId;
+    }
+
+    /**
+     * @return {@code auth_date} в секундах с эпохи или {@code -1}, если поле отсутствует
+     */
+    public long authDate() {
+        return authDate;
+    }
+
+    /**
+     * @return модель пользователя
+     */
+    public TelegramUser user() {
+        return TelegramUser.fromInitData(data);
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedInitData" + data;
+    }
+}
@@ -0,0 +1,111 @@
+package net.orekhov.telegram_auth_test_task.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Декодер URL-кодирования ({@code application/x-www-form-urlencoded}) без исключений и промежуточных строк.
+ *
+ * <p>Результат — байты UTF-8, записываемые в буфер вызывающего. Участки без {@code '%'} и {@code '+'}
+ * копируются целиком через {@link System#arraycopy}; поиск таких участков выполняется через
+ * Vector API ({@link VectorPercentScanner}), если JVM запущена с {@code --add-modules jdk.incubator.vector},
+ * иначе — скалярным циклом. Семантика совпадает с {@link java.net.URLDecoder} для UTF-8,
+ * но некорректная escape-последовательность не бросает исключение, а даёт результат {@code -1}.
+ */
+public final class PercentDecoder {
+
+    /** Результат декодирования некорректной строки. */
+    public static final int MALFORMED = -1;
+
+    static final boolean VECTOR_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private static final int SHORT_RUN = 16;
+    private static final byte[] HEX = new byte[128];
+
+    static {
+        Arrays.fill(HEX, (byte) -1);
+        for (int i = 0; i < 10; i++) HEX['0' + i] = (byte) i;
+        for (int i = 0; i < 6; i++) {
+            HEX['a' + i] = (byte) (10 + i);
+            HEX['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    /**
+     * Декодирует диапазон байтов {@code src[from, to)} в {@code dst}, начиная с {@code off}.
+     * В {@code dst} должно быть не меньше {@code to - from} свободных байт: результат никогда не длиннее входа.
+     *
+     * @param src исходные байты (ASCII; байты вне ASCII копируются как есть)
+     * @param from начало диапазона
+     * @param to   конец диапазона (не включительно)
+     * @param dst  буфер для результата
+     * @param off  смещение в {@code dst}
+     * @return число записанных байт или {@link #MALFORMED}
+     */
+    public static int decode(byte[] src, int from, int to, byte[] dst, int off) {
+        return decode(src, from, to, dst, off, VECTOR_AVAILABLE);
+    }
+
+    static int decode(byte[] src, int from, int to, byte[] dst, int off, boolean vector) {
+        int i = from;
+        int o = off;
+        while (i < to) {
+            byte b = src[i];
+            if (b == '%') {
+                if (i + 2 >= to) {
+                    return MALFORMED;
+                }
+                int hi = hex(src[i + 1]);
+                int lo = hex(src[i + 2]);
+                if ((hi | lo) < 0) {
+                    return MALFORMED;
+                }
+                dst[o++] = (byte) (hi << 4 | lo);
+                i += 3;
+            } else if (b == '+') {
+                dst[o++] = ' ';
+                i++;
+            } else {
+                // короткие участки между escape-последовательностями дешевле просмотреть скалярно
+                int probe = Math.min(to, i + SHORT_RUN);
+                int end = indexOfSpecialScalar(src, i, probe);
+                if (end == probe && probe < to) {
+                    end = vector ? VectorPercentScanner.indexOfSpecial(src, probe, to) : indexOfSpecialScalar(src, probe, to);
+                }
+                System.arraycopy(src, i, dst, o, end - i);
+                o += end - i;
+                i = end;
+            }
+        }
+        return o - off;
+    }
+
+    /**
+     * Декодирует строку целиком.
+     *
+     * @param value URL-кодированная строка
+     * @return декодированная строка или {@code null}, если строка некорректна
+     */
+    public static String decode(String value) {
+        byte[] src = value.getBytes(StandardCharsets.UTF_8);
+        byte[] dst = new byte[src.length];
+        int length = decode(src, 0, src.length, dst, 0);
+        return length == MALFORMED ? null : new String(dst, 0, length, StandardCharsets.UTF_8);
+    }
+
+    static int indexOfSpecialScalar(byte[] src, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = src[i];
+            if (b == '%' || b == '+') {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static int hex(byte b) {
+        return b >= 0 ? HEX[b] : -1;
+    }
+
+    private PercentDecoder() {}
+}
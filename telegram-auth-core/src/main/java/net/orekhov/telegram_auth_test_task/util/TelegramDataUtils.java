@@ -0,0 +1,123 @@
+package net.orekhov.telegram_auth_test_task.util;
+
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Утиль-класс для обработки данных, полученных от Telegram WebApp.
+ * В частности, содержит методы для разбора строки {@code initData}, переданной WebApp
+ * при инициализации мини-приложения.
+ *
+ * <p>Документация Telegram WebApp initData:
+ * https://core.telegram.org/bots/webapps#validating-data-received-via-the-mini-app
+ */
+public final class TelegramDataUtils {
+
+    /**
+     * Разбирает строку {@code initData} в карту параметров.
+     * Строка имеет формат: {@code key1=value1&key2=value2&...}.
+     *
+     * <p>Пары без символа {@code '='} игнорируются.
+     * Значения декодируются с помощью {@link PercentDecoder} в кодировке {@code UTF-8}.
+     *
+     * @param initData строка параметров, переданная WebApp
+     * @return {@link Map} с ключами и значениями параметров, или пустая карта
+     */
+    public static Map<String, String> parseInitData(String initData) {
+        if (initData == null || initData.isBlank()) {
+            return Map.of();
+        }
+
+        return Arrays.stream(initData.split("&"))
+                .map(param -> param.split("=", 2))
+                .filter(pair -> pair.length == 2)
+                .collect(Collectors.toMap(
+                        pair -> pair[0],
+                        pair -> safeDecode(pair[1])
+                ));
+    }
+
+    /**
+     * Безопасное декодирование строки из URL формата.
+     */
+    private static String safeDecode(String value) {
+        String decoded = PercentDecoder.decode(value);
+        return decoded != null ? decoded : value; // Возвращаем как есть, если не удалось декодировать
+    }
+
+    /**
+     * Разбирает initData в изменяемую карту без исключений.
+     * В отличие от {@link #parseInitData(String)}, повторяющийся ключ считается ошибкой, а не исключением.
+     *
+     * @param initData строка параметров, переданная WebApp
+     * @return {@link HashMap} с параметрами или {@code null}, если ключ повторяется
+     */
+    public static Map<String, String> tryParseInitData(String initData) {
+        Map<String, String> result = new HashMap<>();
+        if (initData == null || initData.isBlank()) {
+            return result;
+        }
+
+        int start = 0;
+        int length = initData.length();
+        while (start <= length) {
+            int end = initData.indexOf('&', start);
+            if (end < 0) end = length;
+
+            int eq = initData.indexOf('=', start);
+            if (eq >= 0 && eq < end) {
+                String key = initData.substring(start, eq);
+                if (result.putIfAbsent(key, safeDecode(initData.substring(eq + 1, end))) != null) {
+                    return null;
+                }
+            }
+            start = end + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Разбирает Telegram id пользователя в примитивный {@code long} без исключений.
+     *
+     * @param id строковое представление id (только десятичные цифры)
+     * @return неотрицательный id или {@code -1}, если строка пуста, некорректна или не помещается в {@code long}
+     */
+    public static long parseUserId(String id) {
+        return parseNonNegativeLong(id);
+    }
+
+    /**
+     * Разбирает неотрицательное десятичное число (id, {@code auth_date}) без исключений.
+     *
+     * @param value строка из десятичных цифр
+     * @return значение или {@code -1}, если строка пуста, некорректна или не помещается в {@code long}
+     */
+    public static long parseNonNegativeLong(String value) {
+        if (value == null || value.isEmpty() || value.length() > 19) {
+            return -1;
+        }
+
+        long result = 0;
+        for (int i = 0; i < value.length(); i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+            if (result < 0) {
+                return -1; // переполнение
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Приватный конструктор предотвращает создание экземпляров данного утиль-класса.
+     */
+    private TelegramDataUtils() {}
+}
+
+
@@ -0,0 +1,34 @@
+package net.orekhov.telegram_auth_test_task.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Поиск управляющих символов URL-кодирования ({@code '%'} и {@code '+'}) средствами Vector API.
+ *
+ * <p>Загружается только если модуль {@code jdk.incubator.vector} подключён
+ * ({@code --add-modules jdk.incubator.vector}); иначе {@link PercentDecoder} использует скалярный поиск.
+ */
+final class VectorPercentScanner {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    /**
+     * @return индекс первого {@code '%'} или {@code '+'} в диапазоне {@code [from, to)} либо {@code to}
+     */
+    static int indexOfSpecial(byte[] src, int from, int to) {
+        int i = from;
+        int bound = to - SPECIES.length();
+        for (; i <= bound; i += SPECIES.length()) {
+            ByteVector chunk = ByteVector.fromArray(SPECIES, src, i);
+            VectorMask<Byte> special = chunk.eq((byte) '%').or(chunk.eq((byte) '+'));
+            if (special.anyTrue()) {
+                return i + special.firstTrue();
+            }
+        }
+        return PercentDecoder.indexOfSpecialScalar(src, i, to);
+    }
+
+    private VectorPercentScanner() {}
+}
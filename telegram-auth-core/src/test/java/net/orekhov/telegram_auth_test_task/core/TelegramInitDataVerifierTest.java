@@ -0,0 +1,112 @@
+package net.orekhov.telegram_auth_test_task.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юнит-тесты для {@link TelegramInitDataVerifier} и {@link VerificationResult}.
+ */
+class TelegramInitDataVerifierTest {
+
+    private final TelegramInitDataVerifier verifier = new TelegramInitDataVerifier("test-bot-token");
+
+    /**
+     * Тест: корректно подписанный initData проходит проверку, поле hash удаляется.
+     */
+    @Test
+    void verify_validData_shouldReturnVerifiedData() {
+        String dataCheckString = "first_name=Иван\nid=12345\nusername=testuser";
+        String hash = verifier.calculateHash(dataCheckString);
+        String initData = "id=12345&first_name=" + URLEncoder.encode("Иван", StandardCharsets.UTF_8)
+                + "&username=testuser&hash=" + hash;
+
+        VerificationResult result = verifier.verify(initData);
+
+        assertTrue(result.isValid());
+        assertNull(result.reason());
+        assertEquals("Иван", result.data().asMap().get("first_name"));
+        assertFalse(result.data().asMap().containsKey("hash"));
+        assertEquals(12345L, result.data().userId());
+        assertEquals(-1L, result.data().authDate());
+        assertEquals("testuser", result.data().user().username());
+    }
+
+    /**
+     * Тест: строка проверки, собранная из буфера декодирования, совпадает с {@link TelegramInitDataVerifier#dataCheckString};
+     * некорректная escape-последовательность подписывается как есть.
+     */
+    @Test
+    void verify_decodedBytes_shouldMatchDataCheckString() {
+        String dataCheckString = "comment=100%\nfirst_name=Анна Мария\nid=7";
+        String initData = "first_name=" + URLEncoder.encode("Анна Мария", StandardCharsets.UTF_8)
+                + "&comment=100%&id=7&hash=" + verifier.calculateHash(dataCheckString);
+
+        VerificationResult result = verifier.verify(initData);
+
+        assertTrue(result.isValid());
+        assertEquals("100%", result.data().asMap().get("comment"));
+        assertEquals("Анна Мария", result.data().asMap().get("first_name"));
+        assertEquals(dataCheckString, TelegramInitDataVerifier.dataCheckString(result.data().asMap()));
+    }
+
+    /**
+     * Тест: каждая причина отказа возвращается предсозданным результатом.
+     */
+    @Test
+    void verify_invalidData_shouldReturnReason() {
+        assertReason(FailureReason.EMPTY, verifier.verify(null));
+        assertReason(FailureReason.EMPTY, verifier.verify("  "));
+        assertReason(FailureReason.NO_HASH, verifier.verify("id=1&first_name=Test"));
+        assertReason(FailureReason.NO_ID, verifier.verify("username=test&hash=abc"));
+        assertReason(FailureReason.BAD_SIGNATURE, verifier.verify("id=1&first_name=Test&hash=wronghash"));
+        assertReason(FailureReason.MALFORMED, verifier.verify("id=1&id=2&hash=abc"));
+        assertReason(FailureReason.MALFORMED, verifier.verify("id=1&auth_date=yesterday&hash=abc"));
+
+        assertSame(verifier.verify("id=1&hash=x"), verifier.verify("id=2&hash=y")); // без аллокаций
+    }
+
+    /**
+     * Тест: при ограничении возраста старый auth_date отвергается, свежий — принимается.
+     */
+    @Test
+    void verify_withMaxAge_shouldRejectExpiredAuthDate() {
+        TelegramInitDataVerifier strict = new TelegramInitDataVerifier("test-bot-token", 60);
+        long now = System.currentTimeMillis() / 1000;
+
+        String fresh = "auth_date=" + now + "\nid=1";
+        String old = "auth_date=1000\nid=1";
+
+        assertTrue(strict.verify("id=1&auth_date=" + now + "&hash=" + strict.calculateHash(fresh)).isValid());
+        assertReason(FailureReason.EXPIRED, strict.verify("id=1&auth_date=1000&hash=" + strict.calculateHash(old)));
+        assertReason(FailureReason.MALFORMED, strict.verify("id=1&hash=abc"));
+    }
+
+    /**
+     * Тест: подпись другого бота не принимается.
+     */
+    @Test
+    void verify_otherBotToken_shouldReturnBadSignature() {
+        String hash = new TelegramInitDataVerifier("other-token").calculateHash("id=1");
+
+        assertReason(FailureReason.BAD_SIGNATURE, verifier.verify("id=1&hash=" + hash));
+        assertTrue(verifier.verify("id=1&hash=" + verifier.calculateHash("id=1")).isValid());
+    }
+
+    /**
+     * Тест: пустой токен отвергается при создании.
+     */
+    @Test
+    void constructor_blankToken_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TelegramInitDataVerifier(" "));
+    }
+
+    private static void assertReason(FailureReason expected, VerificationResult result) {
+        assertFalse(result.isValid());
+        assertEquals(expected, result.reason());
+        assertSame(VerificationResult.failure(expected), result);
+    }
+}
@@ -0,0 +1,65 @@
+package net.orekhov.telegram_auth_test_task.util;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Микробенчмарк декодирования initData: {@link URLDecoder} против скалярного и векторного
+ * путей {@link PercentDecoder} на ASCII- и кириллических данных.
+ *
+ * <p>Не запускается как тест. Запуск после {@code mvn test-compile}:
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp target/classes:target/test-classes \
+ *     net.orekhov.telegram_auth_test_task.util.PercentDecoderBenchmark
+ * </pre>
+ */
+public class PercentDecoderBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 10;
+    private static final int ITERATIONS = 200_000;
+
+    public static void main(String[] args) {
+        String ascii = initData("John", "Smith", "john_smith_1990", "en");
+        String cyrillic = initData("Александр", "Константинопольский", "alexander_k", "ru");
+
+        for (String[] payload : new String[][]{{"ascii", ascii}, {"cyrillic", cyrillic}}) {
+            String name = payload[0];
+            byte[] src = payload[1].getBytes(StandardCharsets.US_ASCII);
+            byte[] dst = new byte[src.length];
+
+            report(name, "URLDecoder", () -> URLDecoder.decode(payload[1], StandardCharsets.UTF_8).length());
+            report(name, "scalar", () -> PercentDecoder.decode(src, 0, src.length, dst, 0, false));
+            if (PercentDecoder.VECTOR_AVAILABLE) {
+                report(name, "vector", () -> PercentDecoder.decode(src, 0, src.length, dst, 0, true));
+            } else {
+                System.out.println(name + " vector: пропущено (нет --add-modules jdk.incubator.vector)");
+            }
+        }
+    }
+
+    private static String initData(String firstName, String lastName, String username, String language) {
+        String user = "{\"id\":123456789,\"first_name\":\"" + firstName + "\",\"last_name\":\"" + lastName
+                + "\",\"username\":\"" + username + "\",\"language_code\":\"" + language
+                + "\",\"allows_write_to_pm\":true}";
+        return "query_id=AAHdF6IQAAAAAN0XohDhrOrc&user=" + URLEncoder.encode(user, StandardCharsets.UTF_8)
+                + "&auth_date=1700000000&hash=" + "c501b71e775f74ce10e377dea85a7ea24ecd640b223ea86dfe453e0eaed2e2b2";
+    }
+
+    private static void report(String payload, String decoder, java.util.function.IntSupplier task) {
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int i = 0; i < ITERATIONS; i++) sink += task.getAsInt();
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) sink += task.getAsInt();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-8s %-10s %8.1f нс/операция (sink=%d)%n",
+                payload, decoder, (double) best / ITERATIONS, sink);
+    }
+}
@@ -0,0 +1,74 @@
+package net.orekhov.telegram_auth_test_task.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Юнит-тесты для {@link PercentDecoder}.
+ * Проверяют совпадение с {@link URLDecoder} для векторного и скалярного путей.
+ */
+class PercentDecoderTest {
+
+    /**
+     * Тест: ASCII- и кириллические данные декодируются так же, как {@link URLDecoder}.
+     */
+    @Test
+    void decode_shouldMatchUrlDecoder() {
+        String[] samples = {
+                "",
+                "plain_ascii_value_without_escapes_longer_than_one_vector_register_0123456789",
+                "Ivan+Petrov%2FMoscow",
+                URLEncoder.encode("{\"id\":123,\"first_name\":\"Иван\",\"last_name\":\"Петров\"}", StandardCharsets.UTF_8),
+                URLEncoder.encode("user=" + "Ж".repeat(100) + "&hash=abc", StandardCharsets.UTF_8),
+                "%41%42%43",
+                "raw Юникод без кодирования",
+        };
+
+        for (String sample : samples) {
+            String expected = URLDecoder.decode(sample, StandardCharsets.UTF_8);
+            assertEquals(expected, PercentDecoder.decode(sample), sample);
+            assertEquals(expected, decode(sample, false), sample);
+            if (PercentDecoder.VECTOR_AVAILABLE) {
+                assertEquals(expected, decode(sample, true), sample);
+            }
+        }
+    }
+
+    /**
+     * Тест: некорректные escape-последовательности возвращают MALFORMED без исключений.
+     */
+    @Test
+    void decode_shouldReportMalformedEscapes() {
+        assertNull(PercentDecoder.decode("John%XY"));
+        assertNull(PercentDecoder.decode("trailing%4"));
+        assertNull(PercentDecoder.decode("%"));
+        assertNull(PercentDecoder.decode("%Ж0"));
+    }
+
+    /**
+     * Тест: результат пишется в буфер вызывающего с заданного смещения.
+     */
+    @Test
+    void decode_shouldWriteIntoCallerBufferAtOffset() {
+        byte[] src = "a%D0%96b".getBytes(StandardCharsets.US_ASCII);
+        byte[] dst = new byte[16];
+        dst[0] = 'x';
+
+        int length = PercentDecoder.decode(src, 0, src.length, dst, 1);
+
+        assertEquals(4, length);
+        assertEquals("xaЖb", new String(dst, 0, 1 + length, StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String value, boolean vector) {
+        byte[] src = value.getBytes(StandardCharsets.UTF_8);
+        byte[] dst = new byte[src.length];
+        int length = PercentDecoder.decode(src, 0, src.length, dst, 0, vector);
+        return new String(dst, 0, length, StandardCharsets.UTF_8);
+    }
+}
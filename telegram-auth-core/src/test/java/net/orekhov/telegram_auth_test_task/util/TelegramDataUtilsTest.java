@@ -73,4 +73,29 @@ class TelegramDataUtilsTest {
 
         assertEquals("John%XY", result.get("name")); // недекодированное значение
     }
+
+    /**
+     * Тест: id пользователя разбирается в long, некорректные значения дают -1.
+     */
+    @Test
+    void parseUserId_shouldParseDigitsAndRejectGarbage() {
+        assertEquals(123456789L, TelegramDataUtils.parseUserId("123456789"));
+        assertEquals(-1, TelegramDataUtils.parseUserId(null));
+        assertEquals(-1, TelegramDataUtils.parseUserId(""));
+        assertEquals(-1, TelegramDataUtils.parseUserId("-5"));
+        assertEquals(-1, TelegramDataUtils.parseUserId("12a"));
+        assertEquals(-1, TelegramDataUtils.parseUserId("99999999999999999999"));
+    }
+
+    /**
+     * Тест: tryParseInitData разбирает так же, как parseInitData, но повтор ключа даёт null без исключения.
+     */
+    @Test
+    void tryParseInitData_shouldMatchParseAndRejectDuplicates() {
+        String initData = "id=12345&invalidpair&first_name=Ivan%20Petrov&name=John%XY&";
+
+        assertEquals(TelegramDataUtils.parseInitData(initData), TelegramDataUtils.tryParseInitData(initData));
+        assertTrue(TelegramDataUtils.tryParseInitData(null).isEmpty());
+        assertNull(TelegramDataUtils.tryParseInitData("id=1&id=2"));
+    }
 }
@@ -0,0 +1,83 @@
+package net.orekhov.telegram_auth_test_task;
+
+import net.orekhov.telegram_auth_test_task.audit.ColumnarSummaryReader;
+import net.orekhov.telegram_auth_test_task.audit.InitDataAudit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Командная строка офлайн-проверки архивов initData без запуска веб-приложения.
+ *
+ * <p>Классы приложения лежат в {@code BOOT-INF/classes} перепакованного jar, поэтому главный класс
+ * задаётся через {@code loader.main} и запускается {@code PropertiesLauncher}:
+ * <pre>
+ * java -cp app.jar -Dloader.main=net.orekhov.telegram_auth_test_task.TelegramInitDataAuditCli \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher \
+ *     --token-file tokens.txt --out summary.tgcs archive-1.txt archive-2.txt
+ * </pre>
+ * Сводку можно выгрузить в CSV через {@link ColumnarSummaryReader}.
+ */
+public class TelegramInitDataAuditCli {
+
+    private static final String USAGE = """
+            Использование: TelegramInitDataAuditCli [параметры] <файл initData>...
+              --token <токен>            токен бота (можно повторять)
+              --token-file <файл>        файл с токенами, по одному на строку, '#' — комментарий
+              --out <файл>               файл колоночной сводки (по умолчанию initdata-summary.tgcs)
+              --max-age-seconds <N>      отклонять auth_date старше N секунд (по умолчанию без ограничения)
+              --parallelism <N>          число потоков (по умолчанию число ядер)
+              --chunk-size <байт>        размер диапазона файла на одно задание""";
+
+    public static void main(String[] args) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        List<Path> inputs = new ArrayList<>();
+        Path out = Path.of("initdata-summary.tgcs");
+        long maxAgeSeconds = 0;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        int chunkSize = InitDataAudit.DEFAULT_CHUNK_SIZE;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--token" -> tokens.add(args[++i]);
+                    case "--token-file" -> tokens.addAll(readTokens(Path.of(args[++i])));
+                    case "--out" -> out = Path.of(args[++i]);
+                    case "--max-age-seconds" -> maxAgeSeconds = Long.parseLong(args[++i]);
+                    case "--parallelism" -> parallelism = Integer.parseInt(args[++i]);
+                    case "--chunk-size" -> chunkSize = Integer.parseInt(args[++i]);
+                    default -> inputs.add(Path.of(args[i]));
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            usage();
+        }
+        if (tokens.isEmpty() || inputs.isEmpty()) {
+            usage();
+        }
+
+        InitDataAudit.Report report = new InitDataAudit(tokens, maxAgeSeconds, parallelism, chunkSize).run(inputs, out);
+
+        System.out.printf("Строк: %d, валидных: %d%n", report.lines(), report.valid());
+        report.failures().forEach((reason, count) -> System.out.printf("  %s: %d%n", reason, count));
+        System.out.printf("Время: %.3f с, %.0f строк/с, %.0f строк/с на ядро (%d потоков)%n",
+                report.elapsedNanos() / 1e9, report.linesPerSecond(), report.linesPerSecondPerCore(),
+                report.parallelism());
+        System.out.println("Сводка: " + out.toAbsolutePath());
+    }
+
+    private static List<String> readTokens(Path file) throws IOException {
+        return Files.readAllLines(file).stream()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .toList();
+    }
+
+    private static void usage() {
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+}
@@ -0,0 +1,125 @@
+package net.orekhov.telegram_auth_test_task.audit;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static net.orekhov.telegram_auth_test_task.audit.ColumnarSummaryWriter.*;
+
+/**
+ * Чтение и экспорт колоночной сводки, записанной {@link InitDataAudit}.
+ *
+ * <p>Можно запускать как отдельную утилиту: выводит все строки сводки в CSV на stdout.
+ * Классы приложения лежат в {@code BOOT-INF/classes} перепакованного jar, поэтому главный класс
+ * задаётся через {@code loader.main} и запускается {@code PropertiesLauncher}:
+ * <pre>
+ * java -cp app.jar -Dloader.main=net.orekhov.telegram_auth_test_task.audit.ColumnarSummaryReader \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher summary.tgcs
+ * </pre>
+ */
+public final class ColumnarSummaryReader {
+
+    /**
+     * Результат проверки одной строки входного файла.
+     *
+     * @param file     входной файл
+     * @param offset   смещение строки во входном файле
+     * @param userId   Telegram id (заявленный, если строка отклонена) или {@code -1}
+     * @param authDate {@code auth_date} в секундах с эпохи или {@code -1}
+     * @param reason   причина отказа или {@code null}, если строка валидна
+     * @param token    индекс подошедшего токена или {@code -1}
+     */
+    public record Row(String file, long offset, long userId, long authDate, FailureReason reason, int token) {
+
+        /**
+         * @return {@code true}, если подпись подошла к одному из токенов
+         */
+        public boolean valid() {
+            return reason == null;
+        }
+    }
+
+    /**
+     * Читает все строки сводки.
+     *
+     * @param summary  файл сводки
+     * @param consumer обработчик строк
+     * @throws IOException если файл недоступен или повреждён
+     */
+    public static void read(Path summary, Consumer<Row> consumer) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(summary, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.remaining() < 3 * Integer.BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Неверный заголовок сводки: " + summary);
+        }
+
+        String[] files = new String[buffer.getInt()];
+        for (int i = 0; i < files.length; i++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            files[i] = new String(name, StandardCharsets.UTF_8);
+        }
+
+        while (buffer.remaining() >= GROUP_HEADER_SIZE) {
+            int fileIndex = buffer.getInt();
+            buffer.getLong(); // начало диапазона
+            int rows = buffer.getInt();
+            if (fileIndex < 0 || fileIndex >= files.length || rows < 0 || (long) rows * ROW_SIZE > buffer.remaining()) {
+                throw new IOException("Повреждённая группа строк в сводке: " + summary);
+            }
+
+            int base = buffer.position();
+            int userIds = base + rows * Long.BYTES;
+            int authDates = userIds + rows * Long.BYTES;
+            int outcomes = authDates + rows * Long.BYTES;
+            int tokens = outcomes + rows;
+            for (int i = 0; i < rows; i++) {
+                consumer.accept(new Row(files[fileIndex],
+                        buffer.getLong(base + i * Long.BYTES),
+                        buffer.getLong(userIds + i * Long.BYTES),
+                        buffer.getLong(authDates + i * Long.BYTES),
+                        FailureReason.fromCode(buffer.get(outcomes + i)),
+                        buffer.get(tokens + i)));
+            }
+            buffer.position(tokens + rows);
+        }
+    }
+
+    /**
+     * Экспортирует сводку в CSV: {@code file,offset,user_id,auth_date,outcome,token}.
+     *
+     * @param summary файл сводки
+     * @param out     поток вывода
+     */
+    public static void exportCsv(Path summary, PrintStream out) throws IOException {
+        out.println("file,offset,user_id,auth_date,outcome,token");
+        read(summary, row -> out.println(row.file() + ","
+                + row.offset() + ","
+                + row.userId() + ","
+                + (row.authDate() >= 0 ? Instant.ofEpochSecond(row.authDate()).toString() : "") + ","
+                + (row.valid() ? "VALID" : row.reason()) + ","
+                + row.token()));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Использование: ColumnarSummaryReader <файл сводки>");
+            System.exit(2);
+        }
+        exportCsv(Path.of(args[0]), System.out);
+    }
+
+    private ColumnarSummaryReader() {}
+}
@@ -0,0 +1,108 @@
+package net.orekhov.telegram_auth_test_task.audit;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Запись результатов проверки в колоночный файл сводки.
+ *
+ * <p>Формат (big-endian):
+ * <pre>
+ * header:    int magic = 0x54474353 ("TGCS"), int version = 1,
+ *            int fileCount, fileCount × (short length, byte[length] путь в UTF-8)
+ * row group: int fileIndex, long startOffset, int rows,
+ *            long[rows] offset, long[rows] userId, long[rows] authDate,
+ *            byte[rows] outcome, byte[rows] token
+ * </pre>
+ * Каждая группа строк — один диапазон входного файла; группы пишутся в порядке завершения заданий,
+ * строки внутри группы — в порядке файла. {@code offset} — смещение строки во входном файле,
+ * {@code outcome} — {@link FailureReason#code(FailureReason)}: 0 для валидной строки, иначе код причины,
+ * {@code token} — индекс подошедшего токена или {@code -1}. Неизвестные id и {@code auth_date} равны {@code -1}.
+ * Запись группы синхронизирована, поэтому писатель используется из всех заданий пула.
+ */
+final class ColumnarSummaryWriter implements Closeable {
+
+    static final int MAGIC = 0x54474353;
+    static final int VERSION = 1;
+    static final int GROUP_HEADER_SIZE = 16;
+    static final int ROW_SIZE = 3 * Long.BYTES + 2;
+
+    private final FileChannel channel;
+
+    /**
+     * Создаёт файл сводки (перезаписывая существующий) и пишет заголовок со списком входных файлов.
+     *
+     * @param path   файл сводки
+     * @param inputs входные файлы; индекс в списке — {@code fileIndex} групп
+     * @throws IOException если файл не удалось создать
+     */
+    ColumnarSummaryWriter(Path path, List<Path> inputs) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        byte[][] names = new byte[inputs.size()][];
+        int headerSize = 3 * Integer.BYTES;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = inputs.get(i).toString().getBytes(StandardCharsets.UTF_8);
+            if (names[i].length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Слишком длинный путь: " + inputs.get(i));
+            }
+            headerSize += Short.BYTES + names[i].length;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(headerSize).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(names.length);
+        for (byte[] name : names) {
+            header.putShort((short) name.length).put(name);
+        }
+        writeFully(header.flip());
+    }
+
+    /**
+     * Дописывает группу строк.
+     *
+     * @param fileIndex   индекс входного файла
+     * @param startOffset начало диапазона во входном файле
+     * @param rows        результаты диапазона
+     * @throws IOException при ошибке записи
+     */
+    void write(int fileIndex, long startOffset, RowGroup rows) throws IOException {
+        int size = rows.size();
+        ByteBuffer buffer = ByteBuffer.allocate(GROUP_HEADER_SIZE + size * ROW_SIZE).order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(fileIndex).putLong(startOffset).putInt(size);
+        putLongs(buffer, rows.offsets(), size);
+        putLongs(buffer, rows.userIds(), size);
+        putLongs(buffer, rows.authDates(), size);
+        buffer.put(rows.outcomes(), 0, size);
+        buffer.put(rows.tokens(), 0, size);
+
+        synchronized (this) {
+            writeFully(buffer.flip());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static void putLongs(ByteBuffer buffer, long[] values, int size) {
+        buffer.asLongBuffer().put(values, 0, size);
+        buffer.position(buffer.position() + size * Long.BYTES);
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
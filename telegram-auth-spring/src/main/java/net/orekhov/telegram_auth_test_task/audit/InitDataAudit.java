@@ -0,0 +1,128 @@
+package net.orekhov.telegram_auth_test_task.audit;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Офлайн-проверка архивов initData (одна строка — один initData) по одному или нескольким токенам ботов.
+ *
+ * <p>Входные файлы читаются через отображение в память и делятся по границам строк между
+ * заданиями {@link ForkJoinPool}; проверка та же, что в {@code TelegramAuthService}.
+ * Результат по каждой строке пишется в колоночную сводку (см. {@link ColumnarSummaryWriter}),
+ * которую читает {@link ColumnarSummaryReader}. Пустые строки пропускаются.
+ */
+public final class InitDataAudit {
+
+    /** Размер диапазона файла, проверяемого одним листовым заданием, по умолчанию. */
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Итоги проверки.
+     *
+     * @param lines        число проверенных строк
+     * @param valid        число строк с подписью, подошедшей к одному из токенов
+     * @param failures     число отклонённых строк по причинам
+     * @param elapsedNanos время проверки
+     * @param parallelism  число потоков пула
+     */
+    public record Report(long lines, long valid, Map<FailureReason, Long> failures, long elapsedNanos,
+                         int parallelism) {
+
+        /**
+         * @return пропускная способность, строк в секунду
+         */
+        public double linesPerSecond() {
+            return elapsedNanos > 0 ? lines * 1e9 / elapsedNanos : 0;
+        }
+
+        /**
+         * @return пропускная способность в пересчёте на один поток пула, строк в секунду
+         */
+        public double linesPerSecondPerCore() {
+            return linesPerSecond() / parallelism;
+        }
+    }
+
+    private final MultiTokenVerifier verifier;
+    private final int parallelism;
+    private final int chunkSize;
+
+    /**
+     * @param botTokens     токены ботов; индекс токена попадает в столбец {@code token} сводки
+     * @param maxAgeSeconds максимальный возраст {@code auth_date}; {@code 0} — без ограничения
+     * @param parallelism   число потоков пула
+     * @param chunkSize     размер диапазона файла для одного листового задания, байт
+     */
+    public InitDataAudit(List<String> botTokens, long maxAgeSeconds, int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("parallelism и chunkSize должны быть положительными");
+        }
+        this.verifier = new MultiTokenVerifier(botTokens, maxAgeSeconds);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Проверяет все строки входных файлов и пишет сводку.
+     *
+     * @param inputs  входные файлы
+     * @param summary файл сводки (перезаписывается)
+     * @return итоги проверки
+     * @throws IOException если входной файл недоступен или сводку не удалось записать
+     */
+    public Report run(List<Path> inputs, Path summary) throws IOException {
+        List<FileChannel> channels = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (ColumnarSummaryWriter writer = new ColumnarSummaryWriter(summary, inputs)) {
+            long started = System.nanoTime();
+
+            List<ForkJoinTask<long[]>> tasks = new ArrayList<>();
+            for (int i = 0; i < inputs.size(); i++) {
+                FileChannel channel = FileChannel.open(inputs.get(i), StandardOpenOption.READ);
+                channels.add(channel);
+                tasks.add(pool.submit(new LineRangeTask(channel, i, 0, channel.size(), chunkSize, verifier, writer)));
+            }
+
+            long[] counts = new long[LineRangeTask.OUTCOME_CODES];
+            for (ForkJoinTask<long[]> task : tasks) {
+                long[] taskCounts = task.join();
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += taskCounts[i];
+                }
+            }
+            return report(counts, System.nanoTime() - started);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdownNow();
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    private Report report(long[] counts, long elapsedNanos) {
+        long lines = 0;
+        Map<FailureReason, Long> failures = new EnumMap<>(FailureReason.class);
+        for (int code = 0; code < counts.length; code++) {
+            lines += counts[code];
+            FailureReason reason = FailureReason.fromCode((byte) code);
+            if (reason != null && counts[code] > 0) {
+                failures.put(reason, counts[code]);
+            }
+        }
+        return new Report(lines, counts[0], Collections.unmodifiableMap(failures), elapsedNanos, parallelism);
+    }
+}
@@ -0,0 +1,125 @@
+package net.orekhov.telegram_auth_test_task.audit;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join-задание проверки диапазона входного файла.
+ *
+ * <p>Диапазон больше {@code chunkSize} делится пополам по ближайшей границе строки; лист отображает свой
+ * диапазон в память, проверяет строки и пишет одну группу строк в сводку.
+ * Результат — число строк по кодам исхода ({@link FailureReason#code(FailureReason)}).
+ */
+final class LineRangeTask extends RecursiveTask<long[]> {
+
+    static final int OUTCOME_CODES = FailureReason.values().length + 1;
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+    private static final int AVERAGE_LINE_LENGTH = 256;
+
+    private final FileChannel channel;
+    private final int fileIndex;
+    private final long start;
+    private final long end;
+    private final int chunkSize;
+    private final MultiTokenVerifier verifier;
+    private final ColumnarSummaryWriter writer;
+
+    LineRangeTask(FileChannel channel, int fileIndex, long start, long end, int chunkSize,
+                  MultiTokenVerifier verifier, ColumnarSummaryWriter writer) {
+        this.channel = channel;
+        this.fileIndex = fileIndex;
+        this.start = start;
+        this.end = end;
+        this.chunkSize = chunkSize;
+        this.verifier = verifier;
+        this.writer = writer;
+    }
+
+    @Override
+    protected long[] compute() {
+        try {
+            if (end - start <= chunkSize) {
+                return verifyRange();
+            }
+            long middle = nextLineStart(start + (end - start) / 2);
+            if (middle >= end) {
+                return verifyRange(); // одна строка длиннее chunkSize
+            }
+
+            LineRangeTask left = new LineRangeTask(channel, fileIndex, start, middle, chunkSize, verifier, writer);
+            left.fork();
+            long[] counts = new LineRangeTask(channel, fileIndex, middle, end, chunkSize, verifier, writer).compute();
+            long[] leftCounts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += leftCounts[i];
+            }
+            return counts;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Возвращает позицию сразу после первого {@code '\n'} начиная с {@code position}, либо {@code end}.
+     */
+    private long nextLineStart(long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (position < end) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return end;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return end;
+    }
+
+    private long[] verifyRange() throws IOException {
+        long length = end - start;
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Строка длиннее 2 ГиБ в диапазоне с позиции " + start);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        int size = (int) length;
+
+        long[] counts = new long[OUTCOME_CODES];
+        RowGroup rows = new RowGroup(size / AVERAGE_LINE_LENGTH);
+        byte[] line = new byte[AVERAGE_LINE_LENGTH];
+        int lineStart = 0;
+        for (int i = 0; i <= size; i++) {
+            if (i < size && buffer.get(i) != '\n') {
+                continue;
+            }
+            int lineEnd = i > lineStart && buffer.get(i - 1) == '\r' ? i - 1 : i;
+            int lineLength = lineEnd - lineStart;
+            if (lineLength > 0) {
+                if (lineLength > line.length) {
+                    line = new byte[Math.max(lineLength, line.length * 2)];
+                }
+                buffer.get(lineStart, line, 0, lineLength);
+                String initData = new String(line, 0, lineLength, StandardCharsets.UTF_8);
+                counts[verifier.verifyInto(initData, start + lineStart, rows)]++;
+            }
+            lineStart = i + 1;
+        }
+
+        if (rows.size() > 0) {
+            writer.write(fileIndex, start, rows);
+        }
+        return counts;
+    }
+}
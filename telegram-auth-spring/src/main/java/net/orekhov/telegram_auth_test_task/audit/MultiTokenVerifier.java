@@ -0,0 +1,85 @@
+package net.orekhov.telegram_auth_test_task.audit;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+import net.orekhov.telegram_auth_test_task.core.TelegramInitDataVerifier;
+import net.orekhov.telegram_auth_test_task.core.VerificationResult;
+import net.orekhov.telegram_auth_test_task.util.TelegramDataUtils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Проверка строки initData по нескольким токенам ботов.
+ *
+ * <p>Правила те же, что в {@code TelegramAuthService#verify}: {@code "[пусто]"} считается пустым
+ * initData, остальное проверяется {@link TelegramInitDataVerifier}. Если подпись не подошла к первому
+ * токену, строка проверки данных строится один раз и сверяется с остальными токенами без повторного разбора.
+ * Потокобезопасен.
+ */
+final class MultiTokenVerifier {
+
+    /** Индекс токена в столбце {@code token}, если ни один токен не подошёл. */
+    static final byte NO_TOKEN = -1;
+
+    private final TelegramInitDataVerifier[] verifiers;
+
+    /**
+     * @param botTokens     токены ботов, не более 127
+     * @param maxAgeSeconds максимальный возраст {@code auth_date}; {@code 0} — без ограничения
+     */
+    MultiTokenVerifier(List<String> botTokens, long maxAgeSeconds) {
+        if (botTokens.isEmpty() || botTokens.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Нужно от 1 до " + Byte.MAX_VALUE + " токенов, задано: " + botTokens.size());
+        }
+        this.verifiers = botTokens.stream()
+                .map(token -> new TelegramInitDataVerifier(token, maxAgeSeconds))
+                .toArray(TelegramInitDataVerifier[]::new);
+    }
+
+    /**
+     * Проверяет строку и добавляет результат в группу строк.
+     * Для отклонённых строк в столбцы попадают заявленные id и {@code auth_date}, если они разбираются.
+     *
+     * @param initData строка initData
+     * @param offset   смещение строки во входном файле
+     * @param rows     группа, в которую добавляется результат
+     * @return код результата, см. {@link FailureReason#code(FailureReason)}
+     */
+    byte verifyInto(String initData, long offset, RowGroup rows) {
+        VerificationResult result = "[пусто]".equals(initData)
+                ? VerificationResult.failure(FailureReason.EMPTY)
+                : verifiers[0].verify(initData);
+        if (result.isValid()) {
+            return add(rows, offset, result.data().userId(), result.data().authDate(), null, (byte) 0);
+        }
+
+        FailureReason reason = result.reason();
+        if (reason == FailureReason.EMPTY) {
+            return add(rows, offset, -1, -1, reason, NO_TOKEN);
+        }
+
+        Map<String, String> claimed = TelegramDataUtils.tryParseInitData(initData);
+        if (claimed == null) {
+            return add(rows, offset, -1, -1, reason, NO_TOKEN);
+        }
+        String hash = claimed.remove("hash");
+        long userId = TelegramDataUtils.parseUserId(claimed.get("id"));
+        long authDate = TelegramDataUtils.parseNonNegativeLong(claimed.get("auth_date"));
+
+        if (reason == FailureReason.BAD_SIGNATURE && verifiers.length > 1) {
+            String dataCheckString = TelegramInitDataVerifier.dataCheckString(claimed);
+            for (int i = 1; i < verifiers.length; i++) {
+                if (verifiers[i].hashMatches(dataCheckString, hash)) {
+                    return add(rows, offset, userId, authDate, null, (byte) i);
+                }
+            }
+        }
+        return add(rows, offset, userId, authDate, reason, NO_TOKEN);
+    }
+
+    private static byte add(RowGroup rows, long offset, long userId, long authDate, FailureReason reason, byte token) {
+        byte outcome = FailureReason.code(reason);
+        rows.add(offset, userId, authDate, outcome, token);
+        return outcome;
+    }
+}
@@ -0,0 +1,68 @@
+package net.orekhov.telegram_auth_test_task.audit;
+
+import java.util.Arrays;
+
+/**
+ * Результаты проверки одного диапазона входного файла, накопленные по столбцам.
+ *
+ * <p>Используется только одним листовым заданием, поэтому не синхронизирован.
+ */
+final class RowGroup {
+
+    private long[] offsets;
+    private long[] userIds;
+    private long[] authDates;
+    private byte[] outcomes;
+    private byte[] tokens;
+    private int size;
+
+    RowGroup(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        offsets = new long[capacity];
+        userIds = new long[capacity];
+        authDates = new long[capacity];
+        outcomes = new byte[capacity];
+        tokens = new byte[capacity];
+    }
+
+    void add(long offset, long userId, long authDate, byte outcome, byte token) {
+        if (size == offsets.length) {
+            int capacity = size * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            authDates = Arrays.copyOf(authDates, capacity);
+            outcomes = Arrays.copyOf(outcomes, capacity);
+            tokens = Arrays.copyOf(tokens, capacity);
+        }
+        offsets[size] = offset;
+        userIds[size] = userId;
+        authDates[size] = authDate;
+        outcomes[size] = outcome;
+        tokens[size] = token;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] offsets() {
+        return offsets;
+    }
+
+    long[] userIds() {
+        return userIds;
+    }
+
+    long[] authDates() {
+        return authDates;
+    }
+
+    byte[] outcomes() {
+        return outcomes;
+    }
+
+    byte[] tokens() {
+        return tokens;
+    }
+}
@@ -0,0 +1,42 @@
+package net.orekhov.telegram_auth_test_task.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реализация {@link RemoteVerificationStore} в памяти процесса.
+ *
+ * <p>Заменяет Redis в тестах и при локальной разработке: несколько экземпляров
+ * {@link VerificationCache}, разделяющих один объект, ведут себя как реплики с общим удалённым кэшем.
+ */
+public class InMemoryVerificationStore implements RemoteVerificationStore {
+
+    private record Entry(Map<String, String> data, long expiresAtMillis) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, String> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.data();
+    }
+
+    @Override
+    public void put(String key, Map<String, String> data, long ttlMillis) {
+        entries.put(key, new Entry(Map.copyOf(data), System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * @return число записей, включая ещё не удалённые истёкшие
+     */
+    public int size() {
+        return entries.size();
+    }
+}
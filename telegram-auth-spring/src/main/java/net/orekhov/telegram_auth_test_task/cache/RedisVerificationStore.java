@@ -0,0 +1,91 @@
+package net.orekhov.telegram_auth_test_task.cache;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Удалённый кэш результатов проверки поверх Redis (или любого сервера с протоколом RESP).
+ *
+ * <p>Записи хранятся командой {@code SET key value PX ttl} в виде строки
+ * {@code k1=v1&k2=v2} с URL-кодированием. Соединения переиспользуются через простой пул;
+ * соединение, на котором произошла ошибка, закрывается.
+ */
+public class RedisVerificationStore implements RemoteVerificationStore {
+
+    private static final String KEY_PREFIX = "tg-auth:";
+
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final ConcurrentLinkedQueue<RespConnection> idle = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param host          хост Redis
+     * @param port          порт Redis
+     * @param timeoutMillis таймаут подключения и чтения
+     */
+    public RedisVerificationStore(String host, int port, int timeoutMillis) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public Map<String, String> get(String key) throws IOException {
+        Object reply = execute("GET", KEY_PREFIX + key);
+        return reply instanceof String value ? decode(value) : null;
+    }
+
+    @Override
+    public void put(String key, Map<String, String> data, long ttlMillis) throws IOException {
+        execute("SET", KEY_PREFIX + key, encode(data), "PX", Long.toString(ttlMillis));
+    }
+
+    private Object execute(String... command) throws IOException {
+        RespConnection connection = idle.poll();
+        if (connection == null) {
+            connection = new RespConnection(host, port, timeoutMillis);
+        }
+        try {
+            Object reply = connection.execute(command);
+            idle.offer(connection);
+            return reply;
+        } catch (IOException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    static String encode(Map<String, String> data) {
+        return data.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    static Map<String, String> decode(String value) {
+        Map<String, String> data = new HashMap<>();
+        for (String pair : value.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                data.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return Map.copyOf(data);
+    }
+
+    @Override
+    public void close() throws IOException {
+        RespConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package net.orekhov.telegram_auth_test_task.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * SPI удалённого уровня кэша результатов проверки initData, общего для всех реплик.
+ *
+ * <p>Ключ — SHA-256 исходного initData в hex, значение — проверенные данные пользователя.
+ * {@link VerificationCache} только записывает в этот уровень, асинхронно и вне пути запроса;
+ * {@link #get(String)} предназначен для потребителей вне запроса (других сервисов и инструментов).
+ * Реализация должна соблюдать короткие таймауты: при медленном ответе запись отключается на время.
+ */
+public interface RemoteVerificationStore extends Closeable {
+
+    /**
+     * Читает запись.
+     *
+     * @param key ключ записи
+     * @return данные пользователя или {@code null}, если записи нет или она истекла
+     * @throws IOException при ошибке или таймауте связи
+     */
+    Map<String, String> get(String key) throws IOException;
+
+    /**
+     * Сохраняет запись с ограниченным временем жизни.
+     *
+     * @param key        ключ записи
+     * @param data       проверенные данные пользователя
+     * @param ttlMillis  время жизни записи в миллисекундах
+     * @throws IOException при ошибке или таймауте связи
+     */
+    void put(String key, Map<String, String> data, long ttlMillis) throws IOException;
+
+    @Override
+    default void close() throws IOException {}
+}
@@ -0,0 +1,106 @@
+package net.orekhov.telegram_auth_test_task.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Минимальное соединение по протоколу RESP (Redis serialization protocol).
+ *
+ * <p>Поддерживает отправку команды массивом bulk-строк и чтение ответов
+ * {@code +OK}, {@code -ERR}, {@code :int} и {@code $bulk}. Не потокобезопасно:
+ * соединение используется одним потоком, пока взято из пула.
+ */
+final class RespConnection implements Closeable {
+
+    private final Socket socket;
+    private final InputStream in;
+    private final OutputStream out;
+
+    RespConnection(String host, int port, int timeoutMillis) throws IOException {
+        this.socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(timeoutMillis);
+            socket.connect(new InetSocketAddress(host, port), timeoutMillis);
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Отправляет команду и читает один ответ.
+     *
+     * @return строка для simple/bulk-ответа, {@link Long} для целого, {@code null} для nil
+     * @throws IOException при ошибке сети, таймауте или ответе {@code -ERR}
+     */
+    Object execute(String... args) throws IOException {
+        out.write(('*' + Integer.toString(args.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        for (String arg : args) {
+            byte[] bytes = arg.getBytes(StandardCharsets.UTF_8);
+            out.write(('$' + Integer.toString(bytes.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(bytes);
+            out.write('\r');
+            out.write('\n');
+        }
+        out.flush();
+        return readReply();
+    }
+
+    private Object readReply() throws IOException {
+        int type = in.read();
+        String line = readLine();
+        switch (type) {
+            case '+':
+                return line;
+            case '-':
+                throw new IOException("Ошибка Redis: " + line);
+            case ':':
+                return Long.parseLong(line);
+            case '$': {
+                int length = Integer.parseInt(line);
+                if (length < 0) {
+                    return null;
+                }
+                byte[] bytes = in.readNBytes(length + 2); // данные + CRLF
+                if (bytes.length != length + 2) {
+                    throw new EOFException("Соединение с Redis закрыто");
+                }
+                return new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+            case -1:
+                throw new EOFException("Соединение с Redis закрыто");
+            default:
+                throw new IOException("Неподдерживаемый ответ Redis: " + (char) type);
+        }
+    }
+
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(16);
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b == -1) {
+                throw new EOFException("Соединение с Redis закрыто");
+            }
+            line.write(b);
+        }
+        in.read(); // '\n'
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
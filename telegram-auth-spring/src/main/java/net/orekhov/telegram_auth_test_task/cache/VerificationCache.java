@@ -0,0 +1,258 @@
+package net.orekhov.telegram_auth_test_task.cache;
+
+import jakarta.annotation.PreDestroy;
+import net.orekhov.telegram_auth_test_task.core.VerificationResult;
+import net.orekhov.telegram_auth_test_task.core.VerifiedInitData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Двухуровневый кэш успешных результатов проверки initData.
+ *
+ * <p>Первый уровень — near-cache в памяти процесса, второй — необязательный
+ * {@link RemoteVerificationStore}, общий для всех реплик. Ключ — SHA-256 исходного initData,
+ * поэтому попадание возможно только для побайтно той же подписанной строки.
+ * Запись живёт до {@code auth_date + telegram.cache.max-age-seconds}, но не дольше max-age от текущего
+ * момента; если задан {@code telegram.auth.max-age-seconds}, запись истекает не позже
+ * {@code auth_date + telegram.auth.max-age-seconds}, чтобы кэш не возвращал initData, который проверка
+ * уже отклонила бы как {@code EXPIRED}. Неуспешные проверки не кэшируются.
+ *
+ * <p>При промахе near-cache initData проверяется локально: HMAC занимает микросекунды, а чтение
+ * удалённого уровня — сетевой запрос, поэтому на пути запроса удалённый уровень не читается.
+ * Успешный результат записывается в него асинхронно и не задерживает запрос; если удалённый уровень
+ * отвечает с ошибкой или дольше таймаута, запись в него отключается на {@code telegram.cache.remote-cooldown-ms}.
+ */
+@Component
+public class VerificationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationCache.class);
+
+    private record Entry(VerificationResult result, long expiresAtMillis) {}
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    });
+
+    private final boolean enabled;
+    private final long maxAgeMillis;
+    private final long authMaxAgeMillis;
+    private final int nearMaxSize;
+    private final long remoteCooldownMillis;
+    private final RemoteVerificationStore remote;
+    private final Executor remoteWriter;
+    private final Map<String, Entry> near = new ConcurrentHashMap<>();
+    private volatile long remoteDisabledUntil;
+
+    /**
+     * Создаёт кэш по настройкам приложения и удалённому уровню из контекста, если он объявлен.
+     */
+    @Autowired
+    public VerificationCache(@Value("${telegram.cache.enabled:true}") boolean enabled,
+                             @Value("${telegram.cache.max-age-seconds:3600}") long maxAgeSeconds,
+                             @Value("${telegram.auth.max-age-seconds:0}") long authMaxAgeSeconds,
+                             @Value("${telegram.cache.near-max-size:100000}") int nearMaxSize,
+                             @Value("${telegram.cache.remote-cooldown-ms:5000}") long remoteCooldownMillis,
+                             ObjectProvider<RemoteVerificationStore> remoteProvider) {
+        this(enabled, maxAgeSeconds, authMaxAgeSeconds, nearMaxSize, remoteCooldownMillis,
+                remoteProvider.getIfAvailable());
+    }
+
+    /**
+     * @param enabled              включён ли кэш
+     * @param maxAgeSeconds        максимальный возраст initData, после которого запись истекает
+     * @param authMaxAgeSeconds    максимальный возраст initData при проверке ({@code 0} — не ограничен)
+     * @param nearMaxSize          максимальное число записей near-cache
+     * @param remoteCooldownMillis на сколько отключать удалённый уровень после ошибки
+     * @param remote               удалённый уровень или {@code null}
+     */
+    public VerificationCache(boolean enabled, long maxAgeSeconds, long authMaxAgeSeconds, int nearMaxSize,
+                             long remoteCooldownMillis, RemoteVerificationStore remote) {
+        this(enabled, maxAgeSeconds, authMaxAgeSeconds, nearMaxSize, remoteCooldownMillis, remote, remote == null ? null
+                : new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1024), runnable -> {
+                    Thread thread = new Thread(runnable, "verification-cache-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy()));
+    }
+
+    /**
+     * Конструктор с явным исполнителем асинхронной записи в удалённый уровень (например, для тестов).
+     *
+     * @param remoteWriter исполнитель записи или {@code null}, если удалённого уровня нет
+     */
+    VerificationCache(boolean enabled, long maxAgeSeconds, long authMaxAgeSeconds, int nearMaxSize,
+                      long remoteCooldownMillis, RemoteVerificationStore remote, Executor remoteWriter) {
+        this.enabled = enabled;
+        this.maxAgeMillis = TimeUnit.SECONDS.toMillis(maxAgeSeconds);
+        this.authMaxAgeMillis = TimeUnit.SECONDS.toMillis(authMaxAgeSeconds);
+        this.nearMaxSize = nearMaxSize;
+        this.remoteCooldownMillis = remoteCooldownMillis;
+        this.remote = remote;
+        this.remoteWriter = remoteWriter;
+    }
+
+    /**
+     * Возвращает закэшированный результат проверки или выполняет проверку и кэширует успех.
+     *
+     * @param initData строка initData
+     * @param verifier локальная проверка, например {@code TelegramAuthService::verify}
+     * @return результат проверки; из кэша возвращается только успешный
+     */
+    public VerificationResult getOrVerify(String initData, Function<String, VerificationResult> verifier) {
+        return getOrVerify(initData, keyFor(initData), verifier);
+    }
+
+    /**
+     * То же, что {@link #getOrVerify(String, Function)}, с уже вычисленным ключом — чтобы после
+     * {@link #peek(String)} не хэшировать initData второй раз.
+     *
+     * @param initData строка initData
+     * @param key      ключ из {@link #keyFor(String)}
+     * @param verifier локальная проверка
+     * @return результат проверки; из кэша возвращается только успешный
+     */
+    public VerificationResult getOrVerify(String initData, String key, Function<String, VerificationResult> verifier) {
+        if (key == null) {
+            return verifier.apply(initData);
+        }
+
+        long now = System.currentTimeMillis();
+
+        Entry entry = near.get(key);
+        if (entry != null) {
+            if (entry.expiresAtMillis() > now) {
+                return entry.result();
+            }
+            near.remove(key, entry);
+        }
+
+        VerificationResult verified = verifier.apply(initData);
+        if (verified.isValid()) {
+            long expiresAt = expiresAt(verified.data(), now);
+            if (expiresAt > now) {
+                putNear(key, new Entry(verified, expiresAt));
+                putRemote(key, verified.data().asMap(), expiresAt - now);
+            }
+        }
+        return verified;
+    }
+
+    /**
+     * Вычисляет ключ кэша (SHA-256) для initData.
+     *
+     * @param initData строка initData
+     * @return ключ или {@code null}, если кэш выключен или initData отсутствует — тогда хэш не вычисляется
+     */
+    public String keyFor(String initData) {
+        return enabled && initData != null ? key(initData) : null;
+    }
+
+    /**
+     * Возвращает результат из near-cache без проверки и без обращения к удалённому уровню.
+     * Используется, чтобы дёшево узнать, что initData уже проверен (например, для приоритета при перегрузке).
+     *
+     * @param key ключ из {@link #keyFor(String)}
+     * @return закэшированный успешный результат или {@code null}
+     */
+    public VerificationResult peek(String key) {
+        if (key == null) {
+            return null;
+        }
+        Entry entry = near.get(key);
+        return entry != null && entry.expiresAtMillis() > System.currentTimeMillis() ? entry.result() : null;
+    }
+
+    private void putRemote(String key, Map<String, String> data, long ttlMillis) {
+        if (remote == null || System.currentTimeMillis() < remoteDisabledUntil) {
+            return;
+        }
+        try {
+            remoteWriter.execute(() -> {
+                try {
+                    remote.put(key, data, ttlMillis);
+                } catch (IOException | RuntimeException e) {
+                    disableRemote(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // пул остановлен — запись в удалённый уровень пропускается
+        }
+    }
+
+    private void disableRemote(Exception e) {
+        remoteDisabledUntil = System.currentTimeMillis() + remoteCooldownMillis;
+        logger.warn("Удалённый кэш проверок недоступен, запись в него отключена на {} мс: {}",
+                remoteCooldownMillis, e.getMessage());
+    }
+
+    private void putNear(String key, Entry entry) {
+        if (near.size() >= nearMaxSize) {
+            evictNear(System.currentTimeMillis());
+        }
+        near.put(key, entry);
+    }
+
+    /**
+     * Удаляет истёкшие записи; если их нет, удаляет произвольную часть кэша, чтобы не превысить лимит.
+     */
+    private void evictNear(long now) {
+        near.values().removeIf(e -> e.expiresAtMillis() <= now);
+        Iterator<Entry> it = near.values().iterator();
+        for (int i = near.size() - nearMaxSize + nearMaxSize / 10; i > 0 && it.hasNext(); i--) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private long expiresAt(VerifiedInitData data, long now) {
+        long limit = now + maxAgeMillis;
+        if (!data.asMap().containsKey("auth_date")) {
+            return authMaxAgeMillis > 0 ? now : limit; // возраст не ограничить — при max-age проверки не кэшируем
+        }
+        long authDate = data.authDate();
+        if (authDate < 0) {
+            return now; // некорректный auth_date — не кэшируем
+        }
+        long maxAge = authMaxAgeMillis > 0 ? Math.min(maxAgeMillis, authMaxAgeMillis) : maxAgeMillis;
+        return Math.min(limit, TimeUnit.SECONDS.toMillis(authDate) + maxAge);
+    }
+
+    static String key(String initData) {
+        MessageDigest digest = SHA256.get();
+        return HexFormat.of().formatHex(digest.digest(initData.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (remote != null) {
+            if (remoteWriter instanceof ExecutorService executor) {
+                executor.shutdown();
+            }
+            remote.close();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package net.orekhov.telegram_auth_test_task.config;
+
+import net.orekhov.telegram_auth_test_task.security.role.FileRoleSource;
+import net.orekhov.telegram_auth_test_task.security.role.TelegramRoleSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Конфигурация источника ролей Telegram-пользователей.
+ * <p>
+ * Если задано свойство {@code telegram.roles.file}, роли читаются из локального файла
+ * и перезагружаются при его изменении. Без свойства роли не назначаются.
+ */
+@Configuration
+public class RoleConfig {
+
+    @Bean
+    @ConditionalOnProperty("telegram.roles.file")
+    public TelegramRoleSource fileRoleSource(@Value("${telegram.roles.file}") String file) {
+        return new FileRoleSource(Path.of(file));
+    }
+}
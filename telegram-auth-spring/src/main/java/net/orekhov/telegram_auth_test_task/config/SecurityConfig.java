@@ -32,7 +32,7 @@ public class SecurityConfig {
 
     /**
      * Настраивает цепочку фильтров безопасности:
-     * - разрешает публичный доступ к начальной странице и статике;
+     * - разрешает публичный доступ к начальной странице, статике и пробам здоровья;
      * - отключает стандартные формы аутентификации;
      * - отключает X-Frame-Options, чтобы Telegram WebApp мог встраивать сайт;
      * - добавляет TelegramAuthFilter перед UsernamePasswordAuthenticationFilter.
@@ -42,7 +42,8 @@ public class SecurityConfig {
         return http
                 .securityMatcher("/**")
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/", "/index.html", "/unauthenticated", "/css/**", "/js/**", "/debug.html").permitAll()
+                        .requestMatchers("/", "/index.html", "/unauthenticated", "/css/**", "/js/**", "/debug.html",
+                                "/actuator/health", "/actuator/health/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(telegramAuthFilter, UsernamePasswordAuthenticationFilter.class)
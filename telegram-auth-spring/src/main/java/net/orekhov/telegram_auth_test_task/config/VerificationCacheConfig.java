@@ -0,0 +1,27 @@
+package net.orekhov.telegram_auth_test_task.config;
+
+import net.orekhov.telegram_auth_test_task.cache.RedisVerificationStore;
+import net.orekhov.telegram_auth_test_task.cache.RemoteVerificationStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация удалённого уровня кэша проверок initData.
+ * <p>
+ * Если задано свойство {@code telegram.cache.redis.host}, результаты проверки разделяются
+ * между репликами через Redis. Без свойства используется только near-cache каждой реплики.
+ */
+@Configuration
+public class VerificationCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty("telegram.cache.redis.host")
+    public RemoteVerificationStore redisVerificationStore(
+            @Value("${telegram.cache.redis.host}") String host,
+            @Value("${telegram.cache.redis.port:6379}") int port,
+            @Value("${telegram.cache.redis.timeout-ms:20}") int timeoutMillis) {
+        return new RedisVerificationStore(host, port, timeoutMillis);
+    }
+}
@@ -0,0 +1,41 @@
+package net.orekhov.telegram_auth_test_task.controller;
+
+import net.orekhov.telegram_auth_test_task.events.UserEventHub;
+import net.orekhov.telegram_auth_test_task.security.TelegramUserDetails;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Контроллер потока событий для Telegram WebApp вместо периодического опроса.
+ *
+ * <p>initData проверяется один раз при открытии потока; дальше события приходят по тому же
+ * соединению без повторной проверки (см. {@link UserEventHub}).
+ */
+@Controller
+public class EventStreamController {
+
+    private final UserEventHub eventHub;
+
+    public EventStreamController(UserEventHub eventHub) {
+        this.eventHub = eventHub;
+    }
+
+    /**
+     * Открывает SSE-поток событий текущего пользователя.
+     *
+     * @param user объект TelegramUserDetails, автоматически подставляемый Spring Security
+     * @return эмиттер событий
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@AuthenticationPrincipal TelegramUserDetails user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        return eventHub.connect(user);
+    }
+}
@@ -0,0 +1,165 @@
+package net.orekhov.telegram_auth_test_task.events;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Одно SSE-подключение аутентифицированного пользователя.
+ *
+ * <p>События складываются в очередь подключения и отправляются задачей общего пула отправки;
+ * в каждый момент не больше одной задачи на подключение, поэтому порядок событий сохраняется,
+ * а медленный клиент не занимает больше одного потока. Если очередь превышает лимит,
+ * подключение закрывается: клиент переподключится и пройдёт проверку заново.
+ * Отправка, зависшая дольше таймаута записи ({@link #isStalled}), приводит к вытеснению подключения
+ * ({@link #evict()}): новые события в него больше не ставятся, а после возврата из записи
+ * поток завершается с ошибкой.
+ */
+final class EventConnection {
+
+    private final long userId;
+    private final SseEmitter emitter;
+    private final long expiresAtMillis;
+    private final int maxPending;
+    private final Executor sender;
+    private final Queue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean evicted;
+    private volatile long sendStartedNanos;
+
+    EventConnection(long userId, SseEmitter emitter, long expiresAtMillis, int maxPending, Executor sender) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.expiresAtMillis = expiresAtMillis;
+        this.maxPending = maxPending;
+        this.sender = sender;
+    }
+
+    long userId() {
+        return userId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    long expiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * @param nowNanos           текущее время {@link System#nanoTime()}
+     * @param writeTimeoutNanos  таймаут записи
+     * @return {@code true}, если текущая отправка выполняется дольше таймаута записи
+     */
+    boolean isStalled(long nowNanos, long writeTimeoutNanos) {
+        long started = sendStartedNanos;
+        return started != 0 && nowNanos - started > writeTimeoutNanos;
+    }
+
+    /**
+     * Вытесняет медленного клиента: очередь отбрасывается, новые события не принимаются,
+     * поток завершается с ошибкой, как только зависшая запись вернёт управление.
+     */
+    void evict() {
+        evicted = true;
+        closed.set(true);
+        pending.clear();
+    }
+
+    /**
+     * Ставит событие в очередь подключения.
+     *
+     * @param event собранное событие, общее для всех получателей
+     * @return {@code false}, если подключение закрыто или переполнено (и потому закрыто)
+     */
+    boolean enqueue(Set<DataWithMediaType> event) {
+        if (closed.get()) {
+            return false;
+        }
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pending.clear(); // медленный клиент: очередь отбрасывается, поток завершается
+            close(null);
+            return false;
+        }
+        pending.add(event);
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * Отправляет последнее событие (если задано) после уже поставленных и завершает поток.
+     */
+    void close(Set<DataWithMediaType> lastEvent) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        if (lastEvent != null) {
+            pendingCount.incrementAndGet();
+            pending.add(lastEvent);
+        }
+        pendingCount.incrementAndGet();
+        pending.add(Set.of()); // маркер завершения
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                emitter.complete(); // пул остановлен
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Set<DataWithMediaType> event;
+            while ((event = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                if (event.isEmpty()) {
+                    pending.clear();
+                    emitter.complete();
+                    return;
+                }
+                sendStartedNanos = System.nanoTime() | 1; // 0 — отправка не выполняется
+                try {
+                    emitter.send(event);
+                } finally {
+                    sendStartedNanos = 0;
+                }
+            }
+            if (evicted) {
+                emitter.completeWithError(new IOException("Превышен таймаут записи SSE"));
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // клиент отключился; onError/onCompletion эмиттера удалят подключение
+            closed.set(true);
+            pending.clear();
+            emitter.completeWithError(e);
+            return;
+        } finally {
+            draining.set(false);
+        }
+        if (!pending.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
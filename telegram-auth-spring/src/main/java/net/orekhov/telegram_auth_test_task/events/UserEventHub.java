@@ -0,0 +1,268 @@
+package net.orekhov.telegram_auth_test_task.events;
+
+import jakarta.annotation.PreDestroy;
+import net.orekhov.telegram_auth_test_task.security.TelegramUserDetails;
+import net.orekhov.telegram_auth_test_task.security.deny.TelegramDenyList;
+import net.orekhov.telegram_auth_test_task.security.role.TelegramRoleStore;
+import net.orekhov.telegram_auth_test_task.util.TelegramDataUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Реестр SSE-подключений аутентифицированных пользователей и рассылка им событий.
+ *
+ * <p>initData проверяется один раз — {@code TelegramAuthFilter} при открытии потока;
+ * дальше {@link TelegramUserDetails} привязан к подключению на всё время жизни.
+ * Срок жизни — {@code auth_date + telegram.events.max-age-seconds}. Вместо проверки на каждое сообщение
+ * таймер раз в {@code telegram.events.check-interval-ms} закрывает истёкшие подключения и подключения
+ * заблокированных пользователей, а остальным отправляет heartbeat-комментарий.
+ *
+ * <p>Событие собирается один раз и ставится в очереди подключений; отправку выполняет пул
+ * не более чем из {@code telegram.events.send-threads} потоков (простаивающие потоки завершаются),
+ * поэтому число потоков не зависит от числа подключений. Запись в сокет блокирующая, и каждое
+ * подключение занимает не больше одного потока: таймер вытесняет подключения, отправка в которые идёт
+ * дольше {@code telegram.events.write-timeout-ms}, и новые события им больше не ставятся. Поток,
+ * зависший на записи, освобождается таймаутом записи контейнера сервлетов, поэтому рассылка
+ * остальным останавливается, только если одновременно зависли {@code send-threads} клиентов.
+ *
+ * <p>Единственный источник событий приложения — смена ролей: при очередной проверке таймер
+ * сравнивает роли подключённых пользователей с {@link TelegramRoleStore} и при изменении
+ * отправляет событие {@code roles} со списком ролей через запятую.
+ */
+@Component
+public class UserEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventHub.class);
+
+    private final TelegramDenyList denyList;
+    private final TelegramRoleStore roleStore;
+    private final long maxAgeMillis;
+    private final long checkIntervalMillis;
+    private final int maxPending;
+    private final long writeTimeoutNanos;
+    private final Map<Long, List<EventConnection>> connections = new ConcurrentHashMap<>();
+    private final Map<Long, List<GrantedAuthority>> knownRoles = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Создаёт реестр по настройкам приложения.
+     */
+    @Autowired
+    public UserEventHub(TelegramDenyList denyList, TelegramRoleStore roleStore,
+                        @Value("${telegram.events.max-age-seconds:3600}") long maxAgeSeconds,
+                        @Value("${telegram.events.check-interval-ms:30000}") long checkIntervalMillis,
+                        @Value("${telegram.events.send-threads:16}") int sendThreads,
+                        @Value("${telegram.events.max-pending:256}") int maxPending,
+                        @Value("${telegram.events.write-timeout-ms:10000}") long writeTimeoutMillis) {
+        this.denyList = denyList;
+        this.roleStore = roleStore;
+        this.maxAgeMillis = TimeUnit.SECONDS.toMillis(maxAgeSeconds);
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.maxPending = maxPending;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "user-events-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.sender.allowCoreThreadTimeOut(true);
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-events-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer.scheduleWithFixedDelay(this::checkConnections,
+                checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Открывает поток событий для пользователя.
+     *
+     * @param user пользователь, аутентифицированный фильтром при открытии потока
+     * @return эмиттер, который нужно вернуть из контроллера
+     */
+    public SseEmitter connect(TelegramUserDetails user) {
+        long now = System.currentTimeMillis();
+        long expiresAt = expiresAt(user, now);
+        long userId = TelegramDataUtils.parseUserId(user.getId());
+
+        // таймаут асинхронного запроса — страховка на случай, если таймер не успел закрыть поток
+        SseEmitter emitter = new SseEmitter(Math.max(expiresAt - now, 0) + checkIntervalMillis);
+        EventConnection connection = new EventConnection(userId, emitter, expiresAt, maxPending, sender);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        if (expiresAt <= now) {
+            connection.close(event("expired", ""));
+            return emitter;
+        }
+        connections.compute(userId, (id, userConnections) -> {
+            List<EventConnection> result = userConnections != null ? userConnections : new CopyOnWriteArrayList<>();
+            result.add(connection);
+            knownRoles.putIfAbsent(id, List.copyOf(user.getAuthorities()));
+            return result;
+        });
+        connectionCount.incrementAndGet();
+        connection.enqueue(event("connected", user.getId()));
+        return emitter;
+    }
+
+    /**
+     * Отправляет событие всем подключениям пользователя.
+     *
+     * @param userId Telegram id
+     * @param name   имя события
+     * @param data   данные события (например, JSON)
+     * @return число подключений, в очереди которых поставлено событие
+     */
+    public int publish(long userId, String name, String data) {
+        List<EventConnection> userConnections = connections.get(userId);
+        if (userConnections == null) {
+            return 0;
+        }
+        Set<DataWithMediaType> event = event(name, data);
+        int delivered = 0;
+        for (EventConnection connection : userConnections) {
+            if (connection.enqueue(event)) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Отправляет событие всем подключениям.
+     *
+     * @param name имя события
+     * @param data данные события
+     * @return число подключений, в очереди которых поставлено событие
+     */
+    public int broadcast(String name, String data) {
+        Set<DataWithMediaType> event = event(name, data);
+        int delivered = 0;
+        for (List<EventConnection> userConnections : connections.values()) {
+            for (EventConnection connection : userConnections) {
+                if (connection.enqueue(event)) {
+                    delivered++;
+                }
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * @return число открытых подключений
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Закрывает истёкшие подключения и подключения заблокированных пользователей, вытесняет
+     * медленных клиентов, рассылает изменения ролей, а остальным отправляет heartbeat,
+     * чтобы прокси не закрывали простаивающий поток.
+     */
+    void checkConnections() {
+        try {
+            long now = System.currentTimeMillis();
+            long nowNanos = System.nanoTime();
+            Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+            Set<DataWithMediaType> expired = event("expired", "");
+            for (Map.Entry<Long, List<EventConnection>> entry : connections.entrySet()) {
+                publishRolesIfChanged(entry.getKey());
+                for (EventConnection connection : entry.getValue()) {
+                    if (connection.isStalled(nowNanos, writeTimeoutNanos)) {
+                        logger.warn("SSE-клиент id={} не принимает данные дольше таймаута записи — отключён.",
+                                connection.userId());
+                        connection.evict();
+                        remove(connection);
+                    } else if (connection.expiresAtMillis() <= now) {
+                        connection.close(expired);
+                        remove(connection);
+                    } else if (denyList.isDenied(connection.userId())) {
+                        connection.close(null);
+                        remove(connection);
+                    } else {
+                        connection.enqueue(heartbeat);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Ошибка проверки SSE-подключений: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Отправляет пользователю событие {@code roles}, если его роли изменились с прошлой проверки.
+     */
+    private void publishRolesIfChanged(long userId) {
+        List<GrantedAuthority> current = roleStore.authoritiesFor(userId);
+        List<GrantedAuthority> previous = knownRoles.replace(userId, current);
+        if (previous != null && !previous.equals(current)) {
+            publish(userId, "roles", current.stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.joining(",")));
+        }
+    }
+
+    private void remove(EventConnection connection) {
+        connections.computeIfPresent(connection.userId(), (id, userConnections) -> {
+            if (userConnections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            if (userConnections.isEmpty()) {
+                knownRoles.remove(id);
+                return null;
+            }
+            return userConnections;
+        });
+    }
+
+    private long expiresAt(TelegramUserDetails user, long now) {
+        long limit = now + maxAgeMillis;
+        if (user.getAuthDate() < 0) {
+            return limit;
+        }
+        return Math.min(limit, TimeUnit.SECONDS.toMillis(user.getAuthDate()) + maxAgeMillis);
+    }
+
+    private static Set<DataWithMediaType> event(String name, String data) {
+        return SseEmitter.event().name(name).data(data).build();
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+        for (List<EventConnection> userConnections : connections.values()) {
+            for (EventConnection connection : userConnections) {
+                connection.close(null);
+            }
+        }
+        sender.shutdown();
+    }
+}
@@ -0,0 +1,20 @@
+package net.orekhov.telegram_auth_test_task.journal;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+
+/**
+ * Событие попытки входа, передаваемое из потока запроса в поток записи журнала.
+ *
+ * <p>Хэширование initData и разбор IP выполняются уже в потоке записи,
+ * поэтому событие хранит исходные строки.
+ *
+ * @param timestampMillis время события, мс с эпохи
+ * @param userId          Telegram id или {@code -1}, если неизвестен
+ * @param outcome         результат попытки
+ * @param reason          причина отказа проверки или {@code null}
+ * @param initData        исходный initData (не сохраняется, только его SHA-256)
+ * @param clientIp        IP-адрес клиента в текстовом виде
+ */
+public record AuthEvent(long timestampMillis, long userId, AuthOutcome outcome, FailureReason reason,
+                        String initData, String clientIp) {
+}
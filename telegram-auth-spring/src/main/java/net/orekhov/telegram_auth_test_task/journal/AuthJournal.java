@@ -0,0 +1,159 @@
+package net.orekhov.telegram_auth_test_task.journal;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Журнал попыток входа через Telegram для аудита безопасности.
+ *
+ * <p>Потоки запросов только кладут {@link AuthEvent} в lock-free очередь {@link MpscEventQueue};
+ * единственный поток записи забирает события пачками, кодирует их в компактный бинарный формат
+ * и дописывает в сегменты журнала (см. {@link JournalSegmentWriter}). Сброс на диск выполняется
+ * не чаще {@code telegram.journal.flush-interval-ms}. При переполнении очереди действует
+ * {@link OverflowPolicy}; отброшенные события считаются в {@link #getDroppedCount()}.
+ *
+ * <p>Выключен по умолчанию ({@code telegram.journal.enabled=false}); тогда {@link #record} ничего не делает.
+ * Для чтения сегментов используется {@link AuthJournalReader}.
+ */
+@Component
+public class AuthJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthJournal.class);
+
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final MpscEventQueue<AuthEvent> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final long flushIntervalNanos;
+    private final JournalSegmentWriter writer;
+    private final Thread writerThread;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+
+    /**
+     * Создаёт журнал по настройкам приложения.
+     */
+    @Autowired
+    public AuthJournal(@Value("${telegram.journal.enabled:false}") boolean enabled,
+                       @Value("${telegram.journal.dir:auth-journal}") String dir,
+                       @Value("${telegram.journal.segment-size:67108864}") long segmentSize,
+                       @Value("${telegram.journal.queue-capacity:65536}") int queueCapacity,
+                       @Value("${telegram.journal.overflow:DROP}") OverflowPolicy overflowPolicy,
+                       @Value("${telegram.journal.block-timeout-ms:5}") long blockTimeoutMs,
+                       @Value("${telegram.journal.flush-interval-ms:200}") long flushIntervalMs) throws IOException {
+        this.queue = new MpscEventQueue<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+
+        if (!enabled) {
+            this.writer = null;
+            this.writerThread = null;
+            return;
+        }
+
+        this.writer = new JournalSegmentWriter(Path.of(dir), segmentSize);
+        this.running = true;
+        this.writerThread = new Thread(this::runWriter, "auth-journal-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        logger.info("Журнал аутентификации включён: dir={}, overflow={}", dir, overflowPolicy);
+    }
+
+    /**
+     * Регистрирует попытку входа. Не блокирует поток запроса, кроме политики {@link OverflowPolicy#BLOCK}.
+     *
+     * @param userId   Telegram id или {@code -1}, если неизвестен
+     * @param outcome  результат попытки
+     * @param reason   причина отказа проверки ({@code null} для успеха и блокировки)
+     * @param initData исходный initData (в журнал попадает только его SHA-256)
+     * @param clientIp IP-адрес клиента
+     * @return {@code true}, если событие принято в очередь
+     */
+    public boolean record(long userId, AuthOutcome outcome, FailureReason reason, String initData, String clientIp) {
+        if (!running) {
+            return false;
+        }
+
+        AuthEvent event = new AuthEvent(System.currentTimeMillis(), userId, outcome, reason, initData, clientIp);
+        if (queue.offer(event)) {
+            return true;
+        }
+
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            long deadline = System.nanoTime() + blockTimeoutNanos;
+            while (System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+                if (queue.offer(event)) {
+                    return true;
+                }
+            }
+        }
+
+        long total = dropped.incrementAndGet();
+        if ((total & 1023) == 1) {
+            logger.warn("Очередь журнала аутентификации переполнена, отброшено событий: {}", total);
+        }
+        return false;
+    }
+
+    /**
+     * @return число событий, отброшенных из-за переполнения очереди
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void runWriter() {
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        while (running || queue.size() > 0) {
+            int written = 0;
+            AuthEvent event;
+            while (written < BATCH_SIZE && (event = queue.poll()) != null) {
+                try {
+                    writer.append(event);
+                } catch (IOException | RuntimeException e) {
+                    logger.error("Ошибка записи события в журнал аутентификации: {}", e.getMessage(), e);
+                }
+                written++;
+            }
+            dirty |= written > 0;
+
+            long now = System.nanoTime();
+            if (dirty && now - lastFlush >= flushIntervalNanos) {
+                writer.flush();
+                lastFlush = now;
+                dirty = false;
+            }
+            if (written == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        writer.close();
+    }
+
+    /**
+     * Останавливает поток записи, дописывает оставшиеся события и сбрасывает сегмент на диск.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (writerThread == null) return;
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,145 @@
+package net.orekhov.telegram_auth_test_task.journal;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static net.orekhov.telegram_auth_test_task.journal.JournalSegmentWriter.*;
+
+/**
+ * Чтение и экспорт сегментов журнала аутентификации.
+ *
+ * <p>Можно запускать как отдельную утилиту: выводит все записи из файла сегмента
+ * или из директории журнала в CSV на stdout. Классы приложения лежат в {@code BOOT-INF/classes}
+ * перепакованного jar, поэтому главный класс задаётся через {@code loader.main}:
+ * <pre>
+ * java -cp app.jar -Dloader.main=net.orekhov.telegram_auth_test_task.journal.AuthJournalReader \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher auth-journal/
+ * </pre>
+ */
+public final class AuthJournalReader {
+
+    /**
+     * Декодированная запись журнала.
+     *
+     * @param timestampMillis время события, мс с эпохи
+     * @param userId          Telegram id или {@code -1}
+     * @param outcome         результат попытки (может быть {@code null} для неизвестного кода)
+     * @param reason          причина отказа проверки или {@code null}
+     * @param clientIp        IP клиента или пустая строка
+     * @param initDataSha256  SHA-256 initData в hex
+     */
+    public record Entry(long timestampMillis, long userId, AuthOutcome outcome, FailureReason reason,
+                        String clientIp, String initDataSha256) {
+    }
+
+    /**
+     * Читает все записи одного сегмента до первого пустого маркера.
+     *
+     * @param segment файл сегмента
+     * @param consumer обработчик записей
+     * @throws IOException если файл недоступен или имеет неверный заголовок
+     */
+    public static void read(Path segment, Consumer<Entry> consumer) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Неверный заголовок сегмента журнала: " + segment);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Неподдерживаемая версия сегмента журнала " + version + ": " + segment);
+        }
+        buffer.getLong(); // время создания сегмента
+
+        byte[] ip = new byte[IP_SIZE];
+        byte[] hash = new byte[HASH_SIZE];
+        HexFormat hex = HexFormat.of();
+        while (buffer.remaining() >= RECORD_SIZE && buffer.getShort(buffer.position()) == RECORD_MARKER) {
+            buffer.getShort();
+            AuthOutcome outcome = AuthOutcome.fromCode(buffer.get());
+            int ipLength = buffer.get();
+            FailureReason reason = FailureReason.fromCode(buffer.get());
+            long timestamp = buffer.getLong();
+            long userId = buffer.getLong();
+            buffer.get(ip);
+            buffer.get(hash);
+
+            consumer.accept(new Entry(timestamp, userId, outcome, reason, decodeIp(ip, ipLength), hex.formatHex(hash)));
+        }
+    }
+
+    /**
+     * Возвращает сегменты директории журнала в порядке записи.
+     *
+     * @param dir директория журнала
+     * @return отсортированный список сегментов
+     */
+    public static List<Path> segments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Экспортирует записи в CSV: {@code timestamp,user_id,outcome,reason,client_ip,init_data_sha256}.
+     *
+     * @param path файл сегмента или директория журнала
+     * @param out  поток вывода
+     */
+    public static void exportCsv(Path path, PrintStream out) throws IOException {
+        out.println("timestamp,user_id,outcome,reason,client_ip,init_data_sha256");
+        List<Path> segments = Files.isDirectory(path) ? segments(path) : List.of(path);
+        for (Path segment : segments) {
+            read(segment, entry -> out.println(Instant.ofEpochMilli(entry.timestampMillis()) + ","
+                    + entry.userId() + ","
+                    + entry.outcome() + ","
+                    + (entry.reason() != null ? entry.reason() : "") + ","
+                    + entry.clientIp() + ","
+                    + entry.initDataSha256()));
+        }
+    }
+
+    private static String decodeIp(byte[] ip, int length) {
+        if (length != 4 && length != 16) {
+            return "";
+        }
+        try {
+            byte[] address = length == 4 ? new byte[]{ip[0], ip[1], ip[2], ip[3]} : ip;
+            return InetAddress.getByAddress(address).getHostAddress();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Использование: AuthJournalReader <сегмент | директория журнала>");
+            System.exit(2);
+        }
+        exportCsv(Path.of(args[0]), System.out);
+    }
+
+    private AuthJournalReader() {}
+}
@@ -0,0 +1,33 @@
+package net.orekhov.telegram_auth_test_task.journal;
+
+/**
+ * Результат попытки входа, сохраняемый в журнале одним байтом.
+ */
+public enum AuthOutcome {
+
+    /** initData валиден, пользователь аутентифицирован. */
+    SUCCESS,
+    /** initData невалиден. */
+    FAILURE,
+    /** initData валиден, но пользователь заблокирован. */
+    DENIED;
+
+    private static final AuthOutcome[] VALUES = values();
+
+    /**
+     * @return код для бинарного формата
+     */
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Восстанавливает результат по коду из журнала.
+     *
+     * @param code код результата
+     * @return результат или {@code null}, если код неизвестен
+     */
+    public static AuthOutcome fromCode(byte code) {
+        return code >= 0 && code < VALUES.length ? VALUES[code] : null;
+    }
+}
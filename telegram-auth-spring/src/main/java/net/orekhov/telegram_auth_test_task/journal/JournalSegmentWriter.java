@@ -0,0 +1,181 @@
+package net.orekhov.telegram_auth_test_task.journal;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.stream.Stream;
+
+/**
+ * Запись событий в сегменты журнала — файлы фиксированного размера, отображённые в память.
+ *
+ * <p>Формат сегмента (big-endian):
+ * <pre>
+ * header: int magic = 0x54474A4C ("TGJL"), int version = 1, long createdMillis
+ * record: short marker = 0x4A45, byte outcome, byte ipLength (0, 4 или 16),
+ *         byte reason ({@link FailureReason#code(FailureReason)}, 0 — нет),
+ *         long timestampMillis, long userId, byte[16] ip, byte[32] sha256(initData)
+ * </pre>
+ * Запись фиксированной длины {@value #RECORD_SIZE} байт. Неиспользованный хвост сегмента
+ * заполнен нулями, поэтому конец данных определяется по нулевому маркеру. Маркер записи
+ * пишется после её тела, так что запись, оборванная аварийной остановкой процесса, не читается.
+ * Когда место в сегменте заканчивается, открывается следующий.
+ * Используется только из одного потока записи.
+ */
+final class JournalSegmentWriter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalSegmentWriter.class);
+
+    static final int MAGIC = 0x54474A4C;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final short RECORD_MARKER = 0x4A45;
+    static final int RECORD_SIZE = 69;
+    static final int IP_SIZE = 16;
+    static final int HASH_SIZE = 32;
+    static final String SEGMENT_PREFIX = "auth-";
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final byte[] NO_IP = new byte[IP_SIZE];
+
+    private final Path dir;
+    private final long segmentSize;
+    private final MessageDigest sha256;
+    private long sequence;
+    private MappedByteBuffer segment;
+
+    /**
+     * @param dir         директория журнала, создаётся при необходимости
+     * @param segmentSize размер одного сегмента в байтах
+     * @throws IOException если не удалось создать директорию или первый сегмент
+     */
+    JournalSegmentWriter(Path dir, long segmentSize) throws IOException {
+        if (segmentSize < HEADER_SIZE + RECORD_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Недопустимый размер сегмента журнала: " + segmentSize);
+        }
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        try {
+            this.sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+
+        Files.createDirectories(dir);
+        this.sequence = lastSequence(dir);
+        roll();
+    }
+
+    /**
+     * Кодирует событие и дописывает его в текущий сегмент, при необходимости открывая новый.
+     */
+    void append(AuthEvent event) throws IOException {
+        if (segment.remaining() < RECORD_SIZE) {
+            roll();
+        }
+
+        byte[] ip = encodeIp(event.clientIp());
+        byte[] hash = event.initData() != null
+                ? sha256.digest(event.initData().getBytes(StandardCharsets.UTF_8))
+                : new byte[HASH_SIZE];
+
+        // Маркер пишется последним: оборванная запись остаётся без маркера, и читатель на ней остановится
+        int start = segment.position();
+        segment.position(start + Short.BYTES)
+                .put(event.outcome().code())
+                .put((byte) (ip == NO_IP ? 0 : ip.length))
+                .put(FailureReason.code(event.reason()))
+                .putLong(event.timestampMillis())
+                .putLong(event.userId())
+                .put(ip);
+        if (ip.length < IP_SIZE) {
+            segment.put(NO_IP, 0, IP_SIZE - ip.length);
+        }
+        segment.put(hash);
+        segment.putShort(start, RECORD_MARKER);
+    }
+
+    /**
+     * Сбрасывает изменения текущего сегмента на диск.
+     */
+    void flush() {
+        segment.force();
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private void roll() throws IOException {
+        if (segment != null) {
+            segment.force();
+        }
+
+        sequence++;
+        Path file = dir.resolve(segmentName(sequence));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segment.order(ByteOrder.BIG_ENDIAN);
+        segment.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis());
+        logger.info("Открыт сегмент журнала аутентификации: {}", file);
+    }
+
+    static String segmentName(long sequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX);
+    }
+
+    private static long lastSequence(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .mapToLong(name -> {
+                        try {
+                            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                                    name.length() - SEGMENT_SUFFIX.length()));
+                        } catch (NumberFormatException e) {
+                            return 0;
+                        }
+                    })
+                    .max()
+                    .orElse(0);
+        }
+    }
+
+    /**
+     * Переводит текстовый IP в байты. Принимаются только литералы IPv4/IPv6,
+     * чтобы {@link InetAddress#getByName(String)} никогда не обращался к DNS.
+     */
+    private static byte[] encodeIp(String ip) {
+        if (ip == null || ip.isEmpty()) {
+            return NO_IP;
+        }
+        boolean ipv6 = ip.indexOf(':') >= 0; // строка с ':' всегда разбирается как IPv6-литерал
+        for (int i = 0; !ipv6 && i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if ((c < '0' || c > '9') && c != '.') {
+                return NO_IP;
+            }
+        }
+        try {
+            return InetAddress.getByName(ip).getAddress();
+        } catch (UnknownHostException e) {
+            return NO_IP;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package net.orekhov.telegram_auth_test_task.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ограниченная lock-free очередь "много писателей — один читатель" на кольцевом буфере.
+ *
+ * <p>Писатели занимают слот через CAS хвоста и публикуют элемент в слот; единственный читатель
+ * забирает элементы по порядку, обнуляет слот и сдвигает голову. Блокировок нет ни на одной стороне.
+ *
+ * @param <E> тип элементов
+ */
+final class MpscEventQueue<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity ёмкость, округляется вверх до степени двойки
+     */
+    MpscEventQueue(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Добавляет элемент. Вызывается из любого потока.
+     *
+     * @return {@code false}, если очередь заполнена
+     */
+    boolean offer(E element) {
+        while (true) {
+            long t = tail.get();
+            if (t - head.get() > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.lazySet((int) t & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Забирает следующий элемент. Вызывается только из потока-читателя.
+     *
+     * @return элемент или {@code null}, если очередь пуста или писатель ещё не опубликовал слот
+     */
+    E poll() {
+        long h = head.get();
+        int idx = (int) h & mask;
+        E element = slots.get(idx);
+        if (element == null) {
+            return null;
+        }
+        slots.lazySet(idx, null);
+        head.lazySet(h + 1);
+        return element;
+    }
+
+    /**
+     * @return примерное число элементов в очереди
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+}
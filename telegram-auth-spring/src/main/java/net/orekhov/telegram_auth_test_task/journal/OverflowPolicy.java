@@ -0,0 +1,12 @@
+package net.orekhov.telegram_auth_test_task.journal;
+
+/**
+ * Поведение журнала при переполнении очереди событий.
+ */
+public enum OverflowPolicy {
+
+    /** Событие отбрасывается сразу, поток запроса не ждёт. */
+    DROP,
+    /** Поток запроса ждёт освобождения места не дольше заданного таймаута, затем событие отбрасывается. */
+    BLOCK
+}
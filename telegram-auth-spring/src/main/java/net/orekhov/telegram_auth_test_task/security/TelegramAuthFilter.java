@@ -0,0 +1,293 @@
+package net.orekhov.telegram_auth_test_task.security;
+
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.orekhov.telegram_auth_test_task.cache.VerificationCache;
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+import net.orekhov.telegram_auth_test_task.core.VerificationResult;
+import net.orekhov.telegram_auth_test_task.journal.AuthJournal;
+import net.orekhov.telegram_auth_test_task.journal.AuthOutcome;
+import net.orekhov.telegram_auth_test_task.security.admission.AimdConcurrencyLimiter;
+import net.orekhov.telegram_auth_test_task.security.deny.TelegramDenyList;
+import net.orekhov.telegram_auth_test_task.security.role.TelegramRoleStore;
+import net.orekhov.telegram_auth_test_task.service.TelegramAuthService;
+import net.orekhov.telegram_auth_test_task.util.PercentDecoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Фильтр аутентификации Telegram WebApp.
+ * <p>
+ * Извлекает initData из cookies, валидирует через {@link TelegramAuthService}
+ * (с кэшированием результатов в {@link VerificationCache})
+ * и устанавливает {@link Authentication} в SecurityContext при успехе.
+ * Пользователи из {@link TelegramDenyList} не аутентифицируются,
+ * роли остальных берутся из {@link TelegramRoleStore}. Каждая попытка входа
+ * с непустым initData регистрируется в {@link AuthJournal}.
+ * В ленивом режиме проверка откладывается до первого обращения к аутентификации.
+ * В обычном режиме при перегрузке запросы с initData сверх лимита {@link AimdConcurrencyLimiter} получают
+ * 503 с {@code Retry-After}; запросы с уже закэшированной проверкой отклоняются последними.
+ * Ленивый режим ограничитель не использует вовсе: при {@code telegram.auth.lazy=true} контроль
+ * перегрузки отключён, о чём при запуске пишется предупреждение.
+ */
+@Component
+public class TelegramAuthFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramAuthFilter.class);
+    private final TelegramAuthService authService;
+    private final VerificationCache verificationCache;
+    private final TelegramRoleStore roleStore;
+    private final TelegramDenyList denyList;
+    private final AuthJournal journal;
+    private final AimdConcurrencyLimiter admissionLimiter;
+    private final LongAdder filteredRequests = new LongAdder();
+    private final LongAdder verifiedRequests = new LongAdder();
+
+    @Value("${telegram.auth.lazy:false}")
+    private boolean lazy;
+
+    @Value("${telegram.admission.retry-after-seconds:1}")
+    private int retryAfterSeconds = 1;
+
+    /**
+     * Внедрение сервиса валидации initData, кэша проверок, хранилища ролей, списка блокировок, журнала
+     * и ограничителя конкурентности.
+     *
+     * @param authService       сервис Telegram-аутентификации
+     * @param verificationCache кэш результатов проверки initData
+     * @param roleStore         хранилище ролей Telegram-пользователей
+     * @param denyList          список заблокированных пользователей
+     * @param journal           журнал попыток входа
+     * @param admissionLimiter  ограничитель конкурентности проверки при перегрузке
+     */
+    public TelegramAuthFilter(TelegramAuthService authService, VerificationCache verificationCache,
+                              TelegramRoleStore roleStore, TelegramDenyList denyList, AuthJournal journal,
+                              AimdConcurrencyLimiter admissionLimiter) {
+        this.authService = authService;
+        this.verificationCache = verificationCache;
+        this.roleStore = roleStore;
+        this.denyList = denyList;
+        this.journal = journal;
+        this.admissionLimiter = admissionLimiter;
+    }
+
+    /**
+     * Предупреждает, что ленивый режим отключает включённый ограничитель конкурентности.
+     */
+    @Override
+    protected void initFilterBean() {
+        if (lazy && admissionLimiter.isEnabled()) {
+            logger.warn("telegram.auth.lazy=true: ограничитель конкурентности проверки initData не применяется, "
+                    + "telegram.admission.enabled игнорируется.");
+        }
+    }
+
+    /**
+     * Основная логика фильтра: проверка наличия и валидности initData из cookie.
+     * При успешной валидации создаёт аутентификационный объект.
+     * <p>
+     * В ленивом режиме ({@code telegram.auth.lazy=true}) фильтр только устанавливает отложенный
+     * SecurityContext: initData проверяется не более одного раза за запрос и только при первом
+     * обращении к аутентификации — из правил авторизации, {@code @AuthenticationPrincipal} или шаблонов.
+     * Публичные страницы и страницы ошибок, не читающие пользователя, проверку не выполняют.
+     * <p>
+     * В обычном режиме запрос с initData держит разрешение {@link AimdConcurrencyLimiter} только на время
+     * проверки и освобождает его до передачи запроса дальше по цепочке, поэтому лимит подстраивается под
+     * задержку проверки, а не контроллеров и рендеринга.
+     * В ленивом режиме ограничитель не применяется: ответить 503 из отложенной проверки уже нельзя,
+     * а страницы, не читающие пользователя, не должны отклоняться при перегрузке.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        filteredRequests.increment();
+
+        if (lazy) {
+            Supplier<SecurityContext> previous = SecurityContextHolder.getDeferredContext();
+            SecurityContextHolder.setDeferredContext(SingletonSupplier.of(() -> {
+                SecurityContext context = previous.get();
+                if (context.getAuthentication() == null) {
+                    String initData = readInitData(request);
+                    String key = isMissing(initData) ? null : verificationCache.keyFor(initData);
+                    context.setAuthentication(authenticate(request, initData, key, null));
+                }
+                return context;
+            }));
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Проверка на уже аутентифицированного пользователя
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            logger.debug("Пользователь уже аутентифицирован — фильтр пропущен.");
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String initData = readInitData(request);
+        if (isMissing(initData)) {
+            authenticate(request, initData, null, null);
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Ограничение конкурентности: закэшированный initData — в приоритете; ключ вычисляется один раз
+        String key = verificationCache.keyFor(initData);
+        VerificationResult cached = verificationCache.peek(key);
+        AimdConcurrencyLimiter.Permit permit = admissionLimiter.tryAcquire(cached != null);
+        if (permit == null) {
+            logger.debug("Перегрузка: запрос отклонён ограничителем конкурентности.");
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", Integer.toString(retryAfterSeconds));
+            return;
+        }
+
+        Authentication auth;
+        try {
+            auth = authenticate(request, initData, key, cached);
+        } finally {
+            permit.release();
+        }
+        if (auth != null) {
+            SecurityContextHolder.getContext().setAuthentication(auth);
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Извлекает initData из cookie и декодирует его.
+     *
+     * @param request текущий запрос
+     * @return декодированный initData или {@code null}, если cookie нет
+     */
+    private String readInitData(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+
+        //  Лог имён cookie; значения не логируются — initData является учётными данными
+        if (cookies != null) {
+            Arrays.stream(cookies).forEach(c -> logger.debug(" Cookie: {}", c.getName()));
+        } else {
+            logger.warn(" Cookie-массив отсутствует (null)");
+        }
+
+        String initDataRaw = extractInitDataFromCookies(cookies);
+        return initDataRaw != null ? decodeInitData(initDataRaw) : null;
+    }
+
+    private static boolean isMissing(String initData) {
+        return initData == null || initData.isBlank() || "[пусто]".equals(initData);
+    }
+
+    /**
+     * Проверяет initData и строит аутентификацию.
+     *
+     * @param request  текущий запрос
+     * @param initData декодированный initData из cookie
+     * @param key      ключ кэша проверок из {@link VerificationCache#keyFor(String)} или {@code null}
+     * @param cached   результат из кэша проверок или {@code null}
+     * @return аутентификация Telegram-пользователя или {@code null}, если initData отсутствует,
+     *         невалиден или пользователь заблокирован
+     */
+    private Authentication authenticate(HttpServletRequest request, String initData, String key,
+                                        VerificationResult cached) {
+        boolean initDataMissing = isMissing(initData);
+        if (initDataMissing) {
+            logger.warn("Cookie 'tg_init_data' отсутствует, пуст или содержит [пусто].");
+        } else {
+            verifiedRequests.increment();
+        }
+
+        // Валидация и построение аутентификации
+        VerificationResult result = initDataMissing ? VerificationResult.failure(FailureReason.EMPTY)
+                : cached != null ? cached
+                : verificationCache.getOrVerify(initData, key, authService::verify);
+        long userId = result.isValid() ? result.data().userId() : -1;
+        if (userId >= 0 && denyList.isDenied(userId)) {
+            logger.warn("Telegram-пользователь id={} заблокирован — аутентификация отклонена.", userId);
+            journal.record(userId, AuthOutcome.DENIED, null, initData, request.getRemoteAddr());
+            return null;
+        }
+        if (!result.isValid()) {
+            logger.warn("Не удалось аутентифицировать пользователя: {}.", result.reason());
+            if (!initDataMissing) {
+                journal.record(-1, AuthOutcome.FAILURE, result.reason(), initData, request.getRemoteAddr());
+            }
+            return null;
+        }
+
+        TelegramUserDetails userDetails = new TelegramUserDetails(result.data().asMap(),
+                userId >= 0 ? roleStore.authoritiesFor(userId) : List.of());
+        Authentication auth = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        logger.info("Telegram-пользователь аутентифицирован: id={}, username={}, роли={}",
+                userDetails.getId(), userDetails.getUsername(), userDetails.getAuthorities());
+        journal.record(userId, AuthOutcome.SUCCESS, null, initData, request.getRemoteAddr());
+        return auth;
+    }
+
+    /**
+     * Включает или выключает ленивую аутентификацию (например, для тестов).
+     */
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * @return число запросов, прошедших через фильтр
+     */
+    public long getFilteredRequestCount() {
+        return filteredRequests.sum();
+    }
+
+    /**
+     * @return число запросов, для которых initData действительно проверялся;
+     *         разница с {@link #getFilteredRequestCount()} — работа, сэкономленная ленивым режимом
+     */
+    public long getVerifiedRequestCount() {
+        return verifiedRequests.sum();
+    }
+
+    /**
+     * Декодирует значение cookie; некорректная URL-кодировка оставляет значение как есть.
+     */
+    private String decodeInitData(String initDataRaw) {
+        String decoded = PercentDecoder.decode(initDataRaw);
+        return decoded != null ? decoded : initDataRaw;
+    }
+
+    /**
+     * Ищет cookie с именем "tg_init_data" и возвращает её значение.
+     *
+     * @param cookies массив cookie (может быть null)
+     * @return строка initData или null
+     */
+    private String extractInitDataFromCookies(Cookie[] cookies) {
+        if (cookies == null) return null;
+
+        return Arrays.stream(cookies)
+                .filter(cookie -> "tg_init_data".equals(cookie.getName()))
+                .map(Cookie::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+}
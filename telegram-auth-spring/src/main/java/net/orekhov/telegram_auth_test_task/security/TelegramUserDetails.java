@@ -0,0 +1,122 @@
+package net.orekhov.telegram_auth_test_task.security;
+
+import net.orekhov.telegram_auth_test_task.core.TelegramUser;
+import net.orekhov.telegram_auth_test_task.util.TelegramDataUtils;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Реализация {@link UserDetails} для представления пользователя Telegram в Spring Security.
+ *
+ * <p>Telegram WebApp не использует пароль, поэтому поле {@code password} возвращается пустым.
+ * Роли назначаются извне (см. {@link net.orekhov.telegram_auth_test_task.security.role.TelegramRoleStore})
+ * и по умолчанию отсутствуют.
+ */
+public class TelegramUserDetails implements UserDetails {
+
+    private final String id;
+    private final String firstName;
+    private final String lastName;
+    private final String username;
+    private final long authDate;
+    private final List<GrantedAuthority> authorities;
+
+    /**
+     * Конструктор, инициализирующий поля из карты данных, полученных от Telegram (initData).
+     *
+     * @param data карта параметров, например: id, first_name, last_name, username
+     */
+    public TelegramUserDetails(Map<String, String> data) {
+        this(data, List.of());
+    }
+
+    /**
+     * Конструктор с явно заданными ролями пользователя.
+     *
+     * @param data        карта параметров, например: id, first_name, last_name, username
+     * @param authorities роли пользователя
+     */
+    public TelegramUserDetails(Map<String, String> data, Collection<? extends GrantedAuthority> authorities) {
+        this(TelegramUser.fromInitData(data), TelegramDataUtils.parseNonNegativeLong(data.get("auth_date")), authorities);
+    }
+
+    /**
+     * Конструктор из модели пользователя модуля проверки.
+     *
+     * @param user        пользователь Telegram
+     * @param authorities роли пользователя
+     */
+    public TelegramUserDetails(TelegramUser user, Collection<? extends GrantedAuthority> authorities) {
+        this(user, -1, authorities);
+    }
+
+    private TelegramUserDetails(TelegramUser user, long authDate, Collection<? extends GrantedAuthority> authorities) {
+        this.id = user.id();
+        this.firstName = user.firstName();
+        this.lastName = user.lastName();
+        this.username = user.username();
+        this.authDate = authDate;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return ""; // не используется
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override public boolean isAccountNonExpired() { return true; }
+
+    @Override public boolean isAccountNonLocked() { return true; }
+
+    @Override public boolean isCredentialsNonExpired() { return true; }
+
+    @Override public boolean isEnabled() { return true; }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * @return {@code auth_date} из initData в секундах с эпохи или {@code -1}, если неизвестен
+     */
+    public long getAuthDate() {
+        return authDate;
+    }
+
+    /**
+     * Возвращает строковое представление пользователя.
+     */
+    @Override
+    public String toString() {
+        return "TelegramUserDetails{" +
+                "id='" + id + '\'' +
+                ", username='" + username + '\'' +
+                ", firstName='" + firstName + '\'' +
+                ", lastName='" + lastName + '\'' +
+                ", authorities=" + authorities +
+                '}';
+    }
+}
+
@@ -0,0 +1,193 @@
+package net.orekhov.telegram_auth_test_task.security.admission;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Адаптивный ограничитель числа одновременных проверок initData (AIMD по задержке).
+ *
+ * <p>Каждый допущенный запрос держит разрешение только на время проверки initData, и её задержка —
+ * сигнал для лимита: медленные контроллеры и шаблоны, не связанные с аутентификацией, лимит не снижают.
+ * Освобождение разрешения только увеличивает счётчики {@link LongAdder} текущего окна без блокировок;
+ * лимит пересчитывает один поток, первым заметивший конец окна длиной в целевую задержку:
+ * <ul>
+ *   <li>в окне была задержка выше {@code telegram.admission.latency-target-ms} — лимит умножается на
+ *       {@code backoff-ratio}, то есть не чаще раза за целевую задержку;</li>
+ *   <li>иначе лимит растёт на {@code 1/limit} за каждый запрос, завершённый при загрузке лимита
+ *       хотя бы наполовину, — примерно на единицу за каждые {@code limit} таких запросов.</li>
+ * </ul>
+ * Запросы сверх лимита не ждут в очереди, а сразу отклоняются. Запросам с уже закэшированной
+ * проверкой initData доступен запас {@code priority-headroom} сверх лимита: их обработка дешевле,
+ * и при перегрузке они вытесняются последними.
+ *
+ * <p>Метрики Micrometer: {@code telegram.admission.limit}, {@code telegram.admission.in-flight},
+ * {@code telegram.admission.shed}.
+ */
+@Component
+public class AimdConcurrencyLimiter implements MeterBinder {
+
+    /**
+     * Разрешение на обработку запроса; должно быть освобождено ровно один раз.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Освобождает разрешение и учитывает задержку обработки.
+         */
+        public void release() {
+            if (this == unlimited) {
+                return;
+            }
+            int inFlightBefore = inFlight.getAndDecrement();
+            long now = System.nanoTime();
+            onSample(now, now - startNanos, inFlightBefore);
+        }
+    }
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final double priorityHeadroom;
+    private final Permit unlimited = new Permit(0);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder slowSamples = new LongAdder();
+    private final LongAdder utilizedSamples = new LongAdder();
+    private final AtomicLong windowEndNanos;
+    private volatile double limit;
+
+    /**
+     * @param enabled             включён ли ограничитель; выключенный допускает все запросы
+     * @param initialLimit        начальный лимит
+     * @param minLimit            нижняя граница лимита
+     * @param maxLimit            верхняя граница лимита
+     * @param latencyTargetMillis целевая задержка проверки initData, мс
+     * @param backoffRatio        множитель уменьшения лимита, от 0 до 1
+     * @param priorityHeadroom    доля запаса сверх лимита для приоритетных запросов
+     */
+    public AimdConcurrencyLimiter(@Value("${telegram.admission.enabled:true}") boolean enabled,
+                                  @Value("${telegram.admission.initial-limit:50}") int initialLimit,
+                                  @Value("${telegram.admission.min-limit:8}") int minLimit,
+                                  @Value("${telegram.admission.max-limit:200}") int maxLimit,
+                                  @Value("${telegram.admission.latency-target-ms:100}") long latencyTargetMillis,
+                                  @Value("${telegram.admission.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${telegram.admission.priority-headroom:0.25}") double priorityHeadroom) {
+        if (minLimit < 1 || minLimit > maxLimit || backoffRatio <= 0 || backoffRatio >= 1 || priorityHeadroom < 0) {
+            throw new IllegalArgumentException("Недопустимые параметры ограничителя");
+        }
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMillis);
+        this.backoffRatio = backoffRatio;
+        this.priorityHeadroom = priorityHeadroom;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowEndNanos = new AtomicLong(System.nanoTime() + this.latencyTargetNanos);
+    }
+
+    /**
+     * Пытается получить разрешение без ожидания.
+     *
+     * @param priority {@code true} для запроса с уже проверенным (закэшированным) initData
+     * @return разрешение или {@code null}, если запрос нужно отклонить
+     */
+    public Permit tryAcquire(boolean priority) {
+        if (!enabled) {
+            return unlimited;
+        }
+        double current = limit;
+        int max = (int) (priority ? current * (1 + priorityHeadroom) : current);
+        while (true) {
+            int count = inFlight.get();
+            if (count >= max) {
+                shed.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(count, count + 1)) {
+                return new Permit(System.nanoTime());
+            }
+        }
+    }
+
+    private void onSample(long nowNanos, long latencyNanos, int inFlightBefore) {
+        if (latencyNanos > latencyTargetNanos) {
+            slowSamples.increment();
+        } else if (inFlightBefore * 2 >= limit) {
+            utilizedSamples.increment();
+        }
+
+        long windowEnd = windowEndNanos.get();
+        if (nowNanos - windowEnd >= 0 && windowEndNanos.compareAndSet(windowEnd, nowNanos + latencyTargetNanos)) {
+            updateLimit(); // окно закрывает ровно один поток, поэтому запись лимита не гонится
+        }
+    }
+
+    private void updateLimit() {
+        long slow = slowSamples.sumThenReset();
+        long utilized = utilizedSamples.sumThenReset();
+        double current = limit;
+        if (slow > 0) {
+            limit = Math.max(minLimit, current * backoffRatio);
+        } else if (utilized > 0) {
+            limit = Math.min(maxLimit, current + utilized / current);
+        }
+    }
+
+    /**
+     * @return включён ли ограничитель
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return текущий лимит одновременно обрабатываемых запросов
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return число запросов, обрабатываемых сейчас
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return число отклонённых запросов с момента запуска
+     */
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("telegram.admission.limit", this, AimdConcurrencyLimiter::getLimit)
+                .description("Текущий лимит одновременно обрабатываемых запросов с initData")
+                .register(registry);
+        Gauge.builder("telegram.admission.in-flight", this, AimdConcurrencyLimiter::getInFlight)
+                .description("Запросы с initData в обработке")
+                .register(registry);
+        FunctionCounter.builder("telegram.admission.shed", shed, LongAdder::sum)
+                .description("Запросы, отклонённые ответом 503")
+                .register(registry);
+    }
+}
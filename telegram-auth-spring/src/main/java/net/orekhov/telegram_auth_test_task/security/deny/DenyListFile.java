@@ -0,0 +1,141 @@
+package net.orekhov.telegram_auth_test_task.security.deny;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Файл списка заблокированных Telegram id, отображённый в память только для чтения.
+ *
+ * <p>Формат файла (big-endian):
+ * <pre>
+ * int  magic   = 0x54474444 ("TGDL")
+ * int  version = 1
+ * long count
+ * long ids[count]   // отсортированы по возрастанию, без повторов
+ * </pre>
+ * Данные лежат вне кучи и подгружаются ОС по требованию, поэтому даже миллионы id
+ * не занимают heap. Поиск — бинарный по абсолютным смещениям, без аллокаций и блокировок.
+ */
+public final class DenyListFile {
+
+    static final int MAGIC = 0x54474444;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    private static final DenyListFile EMPTY = new DenyListFile(ByteBuffer.allocate(0), 0);
+
+    private final ByteBuffer ids;
+    private final int count;
+
+    private DenyListFile(ByteBuffer ids, int count) {
+        this.ids = ids;
+        this.count = count;
+    }
+
+    /**
+     * @return пустой список, не блокирующий никого
+     */
+    public static DenyListFile empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Отображает файл в память и проверяет заголовок.
+     *
+     * @param file путь к файлу списка
+     * @return открытый список
+     * @throws IOException если файл недоступен или имеет неверный формат
+     */
+    public static DenyListFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Файл списка блокировок слишком короткий: " + file);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Файл списка блокировок больше 2 ГБ: " + file);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Неверный заголовок файла списка блокировок: " + file);
+            }
+
+            long count = buffer.getLong(8);
+            if (count < 0 || HEADER_SIZE + count * Long.BYTES != size) {
+                throw new IOException("Размер файла списка блокировок не соответствует заголовку: " + file);
+            }
+
+            ByteBuffer ids = buffer.slice(HEADER_SIZE, (int) (count * Long.BYTES)).order(ByteOrder.BIG_ENDIAN);
+            return new DenyListFile(ids, (int) count);
+        }
+    }
+
+    /**
+     * Записывает список id в файл: сортирует, удаляет повторы, пишет во временный файл
+     * рядом и атомарно заменяет им целевой. Так читатели никогда не видят частично
+     * записанный файл, а наблюдатель получает одно событие на замену.
+     *
+     * @param file целевой файл
+     * @param ids  заблокированные id в любом порядке
+     * @throws IOException при ошибке записи
+     */
+    public static void write(Path file, long[] ids) throws IOException {
+        long[] sorted = Arrays.stream(ids).sorted().distinct().toArray();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + sorted.length * Long.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(sorted.length);
+        for (long id : sorted) {
+            buffer.putLong(id);
+        }
+        buffer.flip();
+
+        Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Проверяет, есть ли id в списке.
+     *
+     * @param userId Telegram id пользователя
+     * @return {@code true}, если пользователь заблокирован
+     */
+    public boolean contains(long userId) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = ids.getLong(mid << 3);
+            if (value < userId) {
+                low = mid + 1;
+            } else if (value > userId) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return количество id в списке
+     */
+    public int size() {
+        return count;
+    }
+}
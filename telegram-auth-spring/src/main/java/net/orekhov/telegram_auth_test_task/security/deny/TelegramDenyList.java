@@ -0,0 +1,95 @@
+package net.orekhov.telegram_auth_test_task.security.deny;
+
+import jakarta.annotation.PreDestroy;
+import net.orekhov.telegram_auth_test_task.util.FileWatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Список заблокированных Telegram-пользователей.
+ *
+ * <p>Читается из файла {@code telegram.deny-list.file} (см. {@link DenyListFile}),
+ * отображённого в память. Обновление — атомарной заменой файла (rename), после чего
+ * {@link FileWatcher} переоткрывает его и подменяет volatile-ссылку. Запись в файл
+ * "на месте" не поддерживается: используйте {@link DenyListFile#write(Path, long[])}.
+ * Без заданного свойства список пуст.
+ */
+@Component
+public class TelegramDenyList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramDenyList.class);
+
+    private final Path file;
+    private final FileWatcher watcher;
+    private volatile DenyListFile current = DenyListFile.empty();
+
+    /**
+     * Создаёт список по пути из настроек.
+     *
+     * @param file путь к файлу списка или пустая строка, если блокировки не используются
+     */
+    @Autowired
+    public TelegramDenyList(@Value("${telegram.deny-list.file:}") String file) {
+        this(file == null || file.isBlank() ? null : Path.of(file));
+    }
+
+    /**
+     * Создаёт список, открывает файл и начинает следить за его заменой.
+     *
+     * @param file путь к файлу списка или {@code null}
+     */
+    public TelegramDenyList(Path file) {
+        this.file = file;
+        if (file == null) {
+            this.watcher = null;
+            return;
+        }
+
+        reload();
+        FileWatcher created = null;
+        try {
+            created = new FileWatcher(file, this::reload);
+        } catch (IOException e) {
+            logger.error("Не удалось запустить наблюдение за списком блокировок {}: {}", file, e.getMessage(), e);
+        }
+        this.watcher = created;
+    }
+
+    /**
+     * Проверяет, заблокирован ли пользователь. Не выделяет память и не берёт блокировок.
+     *
+     * @param userId Telegram id пользователя
+     * @return {@code true}, если id есть в списке
+     */
+    public boolean isDenied(long userId) {
+        return current.contains(userId);
+    }
+
+    /**
+     * Переоткрывает файл и атомарно подменяет текущий список.
+     * При ошибке остаётся предыдущая версия.
+     */
+    public void reload() {
+        if (file == null) return;
+        try {
+            DenyListFile opened = DenyListFile.open(file);
+            current = opened;
+            logger.info("Загружен список блокировок: {} id.", opened.size());
+        } catch (IOException e) {
+            logger.error("Не удалось загрузить список блокировок, используется предыдущий: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package net.orekhov.telegram_auth_test_task.security.role;
+
+import net.orekhov.telegram_auth_test_task.util.FileWatcher;
+import net.orekhov.telegram_auth_test_task.util.TelegramDataUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Источник ролей из локального текстового файла.
+ *
+ * <p>Формат — одна строка на пользователя: {@code <telegram id>=ROLE_A,ROLE_B}.
+ * Пустые строки и строки, начинающиеся с {@code #}, игнорируются, некорректные строки
+ * пропускаются с предупреждением. Изменения файла отслеживаются через {@link FileWatcher}.
+ */
+public class FileRoleSource implements TelegramRoleSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileRoleSource.class);
+
+    private final Path file;
+    private FileWatcher watcher;
+
+    /**
+     * @param file путь к файлу ролей
+     */
+    public FileRoleSource(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public RoleSnapshot load() throws IOException {
+        RoleSnapshot.Builder builder = RoleSnapshot.builder();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                int eq = line.indexOf('=');
+                long userId = eq > 0 ? TelegramDataUtils.parseUserId(line.substring(0, eq).strip()) : -1;
+                if (userId < 0) {
+                    logger.warn("Некорректная строка {} в файле ролей {}: '{}'", lineNumber, file, line);
+                    continue;
+                }
+
+                List<String> authorities = new ArrayList<>();
+                for (String authority : line.substring(eq + 1).split(",")) {
+                    if (!authority.isBlank()) authorities.add(authority.strip());
+                }
+                builder.add(userId, authorities);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public synchronized void watch(Runnable onChange) throws IOException {
+        if (watcher == null) {
+            watcher = new FileWatcher(file, onChange);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+}
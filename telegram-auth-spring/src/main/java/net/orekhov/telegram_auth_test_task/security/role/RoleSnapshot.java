@@ -0,0 +1,140 @@
+package net.orekhov.telegram_auth_test_task.security.role;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Неизменяемый снимок соответствия "Telegram id → роли".
+ *
+ * <p>Хранится в виде хэш-таблицы с открытой адресацией по примитивным ключам {@code long},
+ * поэтому поиск выполняется за O(1) без упаковки id и без блокировок. Одинаковые наборы ролей
+ * разделяют один и тот же неизменяемый список.
+ */
+public final class RoleSnapshot {
+
+    private static final RoleSnapshot EMPTY = new RoleSnapshot(new long[1], newValues(1), 0);
+
+    private final long[] keys;
+    private final List<GrantedAuthority>[] values;
+    private final int size;
+    private final int mask;
+
+    private RoleSnapshot(long[] keys, List<GrantedAuthority>[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+        this.mask = keys.length - 1;
+    }
+
+    /**
+     * @return пустой снимок без ролей
+     */
+    public static RoleSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return построитель нового снимка
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Возвращает роли пользователя.
+     *
+     * @param userId Telegram id пользователя
+     * @return неизменяемый список ролей или пустой список, если роли не назначены
+     */
+    public List<GrantedAuthority> authoritiesFor(long userId) {
+        int idx = mix(userId) & mask;
+        List<GrantedAuthority> value;
+        while ((value = values[idx]) != null) {
+            if (keys[idx] == userId) {
+                return value;
+            }
+            idx = (idx + 1) & mask;
+        }
+        return List.of();
+    }
+
+    /**
+     * @return количество пользователей с назначенными ролями
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<GrantedAuthority>[] newValues(int capacity) {
+        return new List[capacity];
+    }
+
+    /**
+     * Построитель {@link RoleSnapshot}. Не потокобезопасен, используется только при загрузке.
+     */
+    public static final class Builder {
+
+        private final Map<Long, Set<String>> roles = new HashMap<>();
+
+        private Builder() {}
+
+        /**
+         * Добавляет роли пользователю. Повторные вызовы для одного id объединяют роли.
+         *
+         * @param userId      Telegram id пользователя
+         * @param authorities имена ролей, например {@code ROLE_ADMIN}
+         * @return этот же построитель
+         */
+        public Builder add(long userId, Collection<String> authorities) {
+            roles.computeIfAbsent(userId, id -> new LinkedHashSet<>()).addAll(authorities);
+            return this;
+        }
+
+        /**
+         * Строит неизменяемый снимок.
+         */
+        public RoleSnapshot build() {
+            if (roles.isEmpty()) {
+                return EMPTY;
+            }
+
+            // заполненность таблицы не выше 50%
+            int capacity = Integer.highestOneBit(Math.max(roles.size(), 1) * 2 - 1) << 1;
+            long[] keys = new long[capacity];
+            List<GrantedAuthority>[] values = newValues(capacity);
+            int mask = capacity - 1;
+
+            Map<Set<String>, List<GrantedAuthority>> shared = new HashMap<>();
+            for (Map.Entry<Long, Set<String>> entry : roles.entrySet()) {
+                List<GrantedAuthority> authorities = shared.computeIfAbsent(entry.getValue(), names -> {
+                    List<GrantedAuthority> list = new ArrayList<>(names.size());
+                    names.forEach(name -> list.add(new SimpleGrantedAuthority(name)));
+                    return List.copyOf(list);
+                });
+
+                long key = entry.getKey();
+                int idx = mix(key) & mask;
+                while (values[idx] != null) {
+                    idx = (idx + 1) & mask;
+                }
+                keys[idx] = key;
+                values[idx] = authorities;
+            }
+            return new RoleSnapshot(keys, values, roles.size());
+        }
+    }
+}
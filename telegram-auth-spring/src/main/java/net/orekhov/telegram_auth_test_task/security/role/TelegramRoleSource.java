@@ -0,0 +1,40 @@
+package net.orekhov.telegram_auth_test_task.security.role;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Источник ролей Telegram-пользователей для {@link TelegramRoleStore}.
+ *
+ * <p>Реализация загружает полный {@link RoleSnapshot} и, если умеет, сообщает об изменениях
+ * через {@link #watch(Runnable)} — после этого хранилище перечитывает снимок целиком.
+ */
+public interface TelegramRoleSource extends Closeable {
+
+    /**
+     * Источник без ролей, используется по умолчанию.
+     */
+    TelegramRoleSource EMPTY = RoleSnapshot::empty;
+
+    /**
+     * Загружает актуальный снимок ролей.
+     *
+     * @return неизменяемый снимок
+     * @throws IOException если источник недоступен или повреждён
+     */
+    RoleSnapshot load() throws IOException;
+
+    /**
+     * Подписывает обработчик на изменения источника. По умолчанию источник статичен.
+     *
+     * @param onChange обработчик, вызываемый после изменения данных
+     * @throws IOException если не удалось запустить наблюдение
+     */
+    default void watch(Runnable onChange) throws IOException {}
+
+    /**
+     * Освобождает ресурсы наблюдения.
+     */
+    @Override
+    default void close() throws IOException {}
+}
@@ -0,0 +1,82 @@
+package net.orekhov.telegram_auth_test_task.security.role;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Хранилище ролей Telegram-пользователей.
+ *
+ * <p>Держит текущий {@link RoleSnapshot} в volatile-ссылке: чтение на пути запроса
+ * не требует блокировок и ввода-вывода. Перезагрузка строит новый снимок целиком
+ * и атомарно подменяет ссылку; при ошибке загрузки остаётся предыдущий снимок.
+ */
+@Component
+public class TelegramRoleStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramRoleStore.class);
+
+    private final TelegramRoleSource source;
+    private volatile RoleSnapshot snapshot = RoleSnapshot.empty();
+
+    /**
+     * Создаёт хранилище поверх источника ролей, если он объявлен в контексте,
+     * иначе — поверх пустого источника.
+     *
+     * @param sourceProvider провайдер {@link TelegramRoleSource}
+     */
+    @Autowired
+    public TelegramRoleStore(ObjectProvider<TelegramRoleSource> sourceProvider) {
+        this(sourceProvider.getIfAvailable(() -> TelegramRoleSource.EMPTY));
+    }
+
+    /**
+     * Создаёт хранилище, загружает начальный снимок и подписывается на изменения источника.
+     *
+     * @param source источник ролей
+     */
+    public TelegramRoleStore(TelegramRoleSource source) {
+        this.source = source;
+        reload();
+        try {
+            source.watch(this::reload);
+        } catch (IOException e) {
+            logger.error("Не удалось запустить наблюдение за источником ролей: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Возвращает роли пользователя из текущего снимка.
+     *
+     * @param userId Telegram id пользователя
+     * @return неизменяемый список ролей, возможно пустой
+     */
+    public List<GrantedAuthority> authoritiesFor(long userId) {
+        return snapshot.authoritiesFor(userId);
+    }
+
+    /**
+     * Перечитывает источник и атомарно подменяет снимок.
+     */
+    public void reload() {
+        try {
+            RoleSnapshot loaded = source.load();
+            snapshot = loaded;
+            logger.info("Загружены роли Telegram-пользователей: {} записей.", loaded.size());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Не удалось загрузить роли, используется предыдущий снимок: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        source.close();
+    }
+}
@@ -0,0 +1,105 @@
+package net.orekhov.telegram_auth_test_task.service;
+
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+import net.orekhov.telegram_auth_test_task.core.TelegramInitDataVerifier;
+import net.orekhov.telegram_auth_test_task.core.VerificationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Сервис для валидации данных, полученных от Telegram WebApp через initData.
+ * Использует алгоритм HMAC-SHA256 для проверки подлинности данных.
+ * <p>
+ * Сама проверка подписи выполняется {@link TelegramInitDataVerifier} из модуля без зависимостей
+ * от Spring; сервис добавляет к ней конфигурацию и логирование.
+ */
+@Service
+public class TelegramAuthService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelegramAuthService.class);
+
+    @Value("${telegram.bot.token}")
+    private String botToken;
+
+    @Value("${telegram.auth.max-age-seconds:0}")
+    private long maxAgeSeconds;
+
+    private volatile TelegramInitDataVerifier verifier;
+
+    /**
+     * Устанавливает токен бота вручную (например, для тестов).
+     */
+    public void setBotToken(String token) {
+        this.botToken = token;
+        this.verifier = null;
+    }
+
+    /**
+     * Проверяет initData и возвращает типизированный результат с причиной отказа.
+     *
+     * @param initData строка, полученная от Telegram WebApp
+     * @return проверенные данные без поля hash либо {@link FailureReason}
+     */
+    public VerificationResult verify(String initData) {
+        if (initData == null || initData.isBlank() || initData.equals("[пусто]")) {
+            logger.warn("initData пуст или некорректен: '{}'", initData);
+            return VerificationResult.failure(FailureReason.EMPTY);
+        }
+
+        if (botToken == null || botToken.isBlank()) {
+            logger.error("botToken не установлен! Проверьте application.properties.");
+            return VerificationResult.failure(FailureReason.INTERNAL_ERROR);
+        }
+
+        VerificationResult result = verifier().verify(initData);
+        if (result.isValid()) {
+            logger.info("Хэш совпадает. Пользователь аутентифицирован.");
+            return result;
+        }
+
+        switch (result.reason()) {
+            case NO_HASH -> logger.warn("Hash не найден в initData.");
+            case NO_ID -> logger.warn("Поле 'id' отсутствует в данных Telegram.");
+            case BAD_SIGNATURE -> logger.warn("Хэш не совпадает.");
+            case EXPIRED -> logger.warn("initData устарел: auth_date старше {} с.", maxAgeSeconds);
+            case MALFORMED -> logger.warn("initData не удалось разобрать.");
+            case INTERNAL_ERROR -> logger.error("Ошибка при вычислении HMAC.");
+            default -> logger.warn("initData отклонён: {}", result.reason());
+        }
+        return result;
+    }
+
+    /**
+     * Валидирует initData и возвращает карту данных, если подпись верна.
+     *
+     * @param initData строка, полученная от Telegram WebApp
+     * @return Optional с пользовательскими данными без поля hash
+     */
+    public Optional<Map<String, String>> validateAndExtractUserData(String initData) {
+        return verify(initData).toOptional();
+    }
+
+    /**
+     * Проверка только валидности initData без извлечения содержимого.
+     */
+    public boolean isInitDataValid(String initData) {
+        return verify(initData).isValid();
+    }
+
+    /**
+     * Возвращает верификатор для текущего токена, создавая его при первом обращении.
+     */
+    private TelegramInitDataVerifier verifier() {
+        TelegramInitDataVerifier current = verifier;
+        if (current == null) {
+            current = new TelegramInitDataVerifier(botToken, maxAgeSeconds);
+            verifier = current;
+        }
+        return current;
+    }
+}
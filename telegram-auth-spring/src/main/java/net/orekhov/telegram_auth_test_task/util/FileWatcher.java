@@ -0,0 +1,86 @@
+package net.orekhov.telegram_auth_test_task.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Наблюдатель за одним файлом на диске.
+ *
+ * <p>Следит за родительской директорией через {@link WatchService} в отдельном daemon-потоке
+ * и вызывает обработчик, когда файл создаётся или изменяется. Атомарная замена файла
+ * ({@code mv new.txt roles.txt}) приходит как {@code ENTRY_CREATE}, поэтому тоже учитывается.
+ */
+public final class FileWatcher implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileWatcher.class);
+
+    private final Path file;
+    private final Runnable onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /**
+     * Запускает наблюдение за файлом.
+     *
+     * @param file     файл, за которым нужно следить
+     * @param onChange обработчик, вызываемый в потоке наблюдателя при изменении файла
+     * @throws IOException если не удалось зарегистрировать директорию в {@link WatchService}
+     */
+    public FileWatcher(Path file, Runnable onChange) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+
+        this.thread = new Thread(this::run, "file-watcher-" + this.file.getFileName());
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run() {
+        Path fileName = file.getFileName();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                if (changed) {
+                    try {
+                        onChange.run();
+                    } catch (RuntimeException e) {
+                        logger.error("Ошибка обработки изменения файла {}: {}", file, e.getMessage(), e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // штатная остановка наблюдателя
+        }
+    }
+
+    /**
+     * Останавливает поток наблюдателя и освобождает {@link WatchService}.
+     */
+    @Override
+    public void close() throws IOException {
+        thread.interrupt();
+        watchService.close();
+    }
+}
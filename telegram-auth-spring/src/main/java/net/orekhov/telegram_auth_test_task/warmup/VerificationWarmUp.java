@@ -0,0 +1,300 @@
+package net.orekhov.telegram_auth_test_task.warmup;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.orekhov.telegram_auth_test_task.cache.RemoteVerificationStore;
+import net.orekhov.telegram_auth_test_task.cache.VerificationCache;
+import net.orekhov.telegram_auth_test_task.core.TelegramInitDataVerifier;
+import net.orekhov.telegram_auth_test_task.journal.AuthJournal;
+import net.orekhov.telegram_auth_test_task.journal.OverflowPolicy;
+import net.orekhov.telegram_auth_test_task.security.TelegramAuthFilter;
+import net.orekhov.telegram_auth_test_task.security.TelegramUserDetails;
+import net.orekhov.telegram_auth_test_task.security.admission.AimdConcurrencyLimiter;
+import net.orekhov.telegram_auth_test_task.security.deny.TelegramDenyList;
+import net.orekhov.telegram_auth_test_task.security.role.TelegramRoleStore;
+import net.orekhov.telegram_auth_test_task.service.TelegramAuthService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Прогрев JIT перед приёмом трафика.
+ *
+ * <p>Сразу после запуска фильтр аутентификации, кэш проверок, проверка подписи и рендеринг Thymeleaf
+ * работают в интерпретаторе или на C1, и первые минуты трафика дают всплеск p99. Прогрев выполняется
+ * в {@link ApplicationRunner}, то есть до того, как Spring Boot переведёт приложение в
+ * {@code ACCEPTING_TRAFFIC}: он подписывает синтетический initData одноразовым случайным токеном
+ * и пропускает его через настоящий {@link TelegramAuthFilter} — извлечение и декодирование cookie,
+ * ключ и поиск в {@link VerificationCache}, разрешение {@link AimdConcurrencyLimiter},
+ * {@link TelegramAuthService#verify}, список блокировок, роли и построение аутентификации, — а затем
+ * рендерит страницу, как контроллер. Каждый восьмой initData подписан неверно, чтобы ветка отказа
+ * тоже была скомпилирована, а каждый четвёртый повторяет предыдущий и попадает в кэш.
+ *
+ * <p>Фильтр, сервис, кэш, журнал и ограничитель для прогрева — отдельные экземпляры: синтетические
+ * запросы не попадают в кэш, журнал и метрики приложения, а журнал прогрева выключен. Общие только
+ * хранилище ролей и список блокировок, которые запрос лишь читает. На время прогрева журналы фильтра
+ * и сервиса понижаются до {@code ERROR}, чтобы не писать строку на каждый синтетический запрос.
+ * Прогрев останавливается по числу итераций ({@code telegram.warmup.iterations}) или по бюджету времени
+ * ({@code telegram.warmup.time-budget-ms}), смотря что наступит раньше; состояние отдаёт
+ * {@link WarmUpHealthIndicator}.
+ */
+@Component
+public class VerificationWarmUp implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationWarmUp.class);
+
+    private static final List<String> REQUEST_LOGGERS =
+            List.of(TelegramAuthFilter.class.getName(), TelegramAuthService.class.getName());
+
+    private final boolean enabled;
+    private final int iterations;
+    private final long timeBudgetNanos;
+    private final TelegramRoleStore roleStore;
+    private final TelegramDenyList denyList;
+    private final ITemplateEngine templateEngine;
+    private final LoggingSystem loggingSystem;
+    private volatile boolean complete;
+    private volatile int completedIterations;
+    private volatile long elapsedMillis;
+    private long sink;
+
+    /**
+     * Создаёт прогрев по настройкам приложения; шаблонизатор и система логирования берутся из контекста,
+     * если они есть.
+     */
+    @Autowired
+    public VerificationWarmUp(@Value("${telegram.warmup.enabled:true}") boolean enabled,
+                              @Value("${telegram.warmup.iterations:20000}") int iterations,
+                              @Value("${telegram.warmup.time-budget-ms:15000}") long timeBudgetMillis,
+                              TelegramRoleStore roleStore, TelegramDenyList denyList,
+                              ObjectProvider<ITemplateEngine> templateEngineProvider,
+                              ObjectProvider<LoggingSystem> loggingSystemProvider) {
+        this(enabled, iterations, timeBudgetMillis, roleStore, denyList,
+                templateEngineProvider.getIfAvailable(), loggingSystemProvider.getIfAvailable());
+    }
+
+    /**
+     * @param enabled          выполнять ли прогрев; выключенный сразу считается завершённым
+     * @param iterations       максимальное число итераций
+     * @param timeBudgetMillis максимальная длительность прогрева, мс
+     * @param roleStore        хранилище ролей
+     * @param denyList         список заблокированных пользователей
+     * @param templateEngine   шаблонизатор или {@code null}, чтобы не прогревать рендеринг
+     * @param loggingSystem    система логирования или {@code null}, чтобы не менять уровни журналов
+     */
+    public VerificationWarmUp(boolean enabled, int iterations, long timeBudgetMillis,
+                              TelegramRoleStore roleStore, TelegramDenyList denyList,
+                              ITemplateEngine templateEngine, LoggingSystem loggingSystem) {
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        this.roleStore = roleStore;
+        this.denyList = denyList;
+        this.templateEngine = templateEngine;
+        this.loggingSystem = loggingSystem;
+        this.complete = !enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Выполняет прогрев; повторный вызов после завершения ничего не делает.
+     */
+    public synchronized void warmUp() {
+        if (complete) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<String, LogLevel> logLevels = quietRequestLogs();
+        try {
+            String token = throwawayToken();
+            TelegramAuthService authService = new TelegramAuthService();
+            authService.setBotToken(token);
+            TelegramInitDataVerifier signer = new TelegramInitDataVerifier(token);
+            TelegramInitDataVerifier otherKey = new TelegramInitDataVerifier(throwawayToken());
+            TelegramAuthFilter filter = new TelegramAuthFilter(authService,
+                    new VerificationCache(true, 3600, 0, 1024, 0, (RemoteVerificationStore) null),
+                    roleStore, denyList, new AuthJournal(false, "", 0, 16, OverflowPolicy.DROP, 0, 0),
+                    new AimdConcurrencyLimiter(true, 50, 8, 200, 100, 0.9, 0.25));
+            HttpServletResponse response = stub(HttpServletResponse.class, Map.of());
+            FilterChain chain = (request, ignored) -> render(SecurityContextHolder.getContext().getAuthentication());
+
+            // Бюджет отсчитывается после подготовки ключей, чтобы медленный SecureRandom
+            // не съедал его целиком и хотя бы одна итерация выполнялась всегда
+            long budgetStart = System.nanoTime();
+            String cookie = null;
+            int done = 0;
+            while (done < iterations && System.nanoTime() - budgetStart < timeBudgetNanos) {
+                if (cookie == null || done % 4 != 1) {
+                    cookie = signedCookie(done, done % 8 == 7 ? otherKey : signer);
+                }
+                try {
+                    filter.doFilter(request(cookie), response, chain);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                completedIterations = ++done;
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            // Прогрев — оптимизация: его сбой не должен мешать приложению принимать трафик
+            logger.warn("Прогрев JIT прерван: {}", e.toString());
+        } finally {
+            restoreLogs(logLevels);
+            elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            complete = true;
+        }
+        logger.info("Прогрев JIT завершён: {} итераций за {} мс.", completedIterations, elapsedMillis);
+    }
+
+    /**
+     * Строит значение cookie {@code tg_init_data}, подписанное ключом {@code signer}.
+     */
+    private static String signedCookie(int i, TelegramInitDataVerifier signer) {
+        Map<String, String> data = new LinkedHashMap<>();
+        data.put("id", Long.toString(100_000_000L + i));
+        data.put("first_name", "Warm" + (i & 15));
+        data.put("last_name", "Up");
+        data.put("username", "warmup_" + i);
+        data.put("auth_date", Long.toString(System.currentTimeMillis() / 1000));
+        data.put("query_id", "AAH" + Integer.toHexString(i * 31));
+        String hash = signer.calculateHash(TelegramInitDataVerifier.dataCheckString(data));
+
+        StringBuilder initData = new StringBuilder();
+        data.forEach((key, value) -> initData.append(key).append('=')
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8)).append('&'));
+        initData.append("hash=").append(hash);
+
+        // Значение cookie закодировано ещё раз, как у Telegram WebApp
+        return URLEncoder.encode(initData.toString(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Рендерит страницу так же, как контроллер: для аутентифицированного пользователя — главную.
+     */
+    private void render(Authentication auth) {
+        if (templateEngine == null) {
+            return;
+        }
+        boolean user = auth != null && auth.getPrincipal() instanceof TelegramUserDetails;
+        Map<String, Object> model = user ? Map.of("user", auth.getPrincipal()) : Map.of();
+        sink += templateEngine.process(user ? "index" : "unauthenticated",
+                new Context(Locale.getDefault(), model)).length();
+    }
+
+    /**
+     * Синтетический запрос с cookie initData: атрибуты хранятся в карте, остальные методы
+     * возвращают значения по умолчанию.
+     */
+    private static HttpServletRequest request(String cookie) {
+        Map<String, Object> attributes = new HashMap<>();
+        Cookie[] cookies = {new Cookie("tg_init_data", cookie)};
+        return stub(HttpServletRequest.class, Map.of(
+                "getCookies", args -> cookies,
+                "getRemoteAddr", args -> "127.0.0.1",
+                "getDispatcherType", args -> DispatcherType.REQUEST,
+                "getAttribute", args -> attributes.get((String) args[0]),
+                "setAttribute", args -> attributes.put((String) args[0], args[1]),
+                "removeAttribute", args -> attributes.remove((String) args[0])));
+    }
+
+    private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(VerificationWarmUp.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args); // для void-методов результат игнорируется
+                    }
+                    Class<?> returnType = method.getReturnType();
+                    return returnType.isPrimitive() && returnType != void.class
+                            ? Array.get(Array.newInstance(returnType, 1), 0) : null;
+                }));
+    }
+
+    /**
+     * Понижает журналы фильтра и сервиса до {@code ERROR} и возвращает прежние уровни.
+     */
+    private Map<String, LogLevel> quietRequestLogs() {
+        Map<String, LogLevel> previous = new LinkedHashMap<>();
+        if (loggingSystem == null) {
+            return previous;
+        }
+        for (String name : REQUEST_LOGGERS) {
+            LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(name);
+            previous.put(name, configuration != null ? configuration.getConfiguredLevel() : null);
+            loggingSystem.setLogLevel(name, LogLevel.ERROR);
+        }
+        return previous;
+    }
+
+    private void restoreLogs(Map<String, LogLevel> previous) {
+        previous.forEach((name, level) -> loggingSystem.setLogLevel(name, level));
+    }
+
+    private static String throwawayToken() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return "0:" + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+
+    /**
+     * @return {@code true}, если прогрев завершён или выключен
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return число выполненных итераций
+     */
+    public int getCompletedIterations() {
+        return completedIterations;
+    }
+
+    /**
+     * @return длительность прогрева, мс; 0, пока он не завершён
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return {@code true}, если прогрев включён
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,31 @@
+package net.orekhov.telegram_auth_test_task.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Индикатор готовности {@code warmUp}: {@code OUT_OF_SERVICE}, пока идёт {@link VerificationWarmUp}.
+ *
+ * <p>Входит в группу {@code readiness} ({@code /actuator/health/readiness}), поэтому балансировщик
+ * не направляет трафик на экземпляр, пока горячий путь проверки initData не скомпилирован.
+ */
+@Component
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final VerificationWarmUp warmUp;
+
+    public WarmUpHealthIndicator(VerificationWarmUp warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmUp.isComplete() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("enabled", warmUp.isEnabled())
+                .withDetail("iterations", warmUp.getCompletedIterations())
+                .withDetail("elapsedMs", warmUp.getElapsedMillis())
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package net.orekhov.telegram_auth_test_task;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Проверка загрузки контекста. Прогрев JIT ({@code telegram.warmup.enabled}) в тестах выключен:
+ * он включён по умолчанию для рабочего запуска и только замедлил бы каждый контекст.
+ */
+@SpringBootTest(properties = "telegram.warmup.enabled=false")
+class TelegramAuthTestTaskApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+
+}
@@ -0,0 +1,91 @@
+package net.orekhov.telegram_auth_test_task.audit;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+import net.orekhov.telegram_auth_test_task.core.TelegramInitDataVerifier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для {@link InitDataAudit} и {@link ColumnarSummaryReader}.
+ */
+class InitDataAuditTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Строки, разбитые на много маленьких диапазонов, проверяются по нескольким токенам
+     * и попадают в сводку со смещениями, указывающими на исходные строки.
+     */
+    @Test
+    void shouldVerifyAllLinesAcrossChunksAndTokens() throws Exception {
+        TelegramInitDataVerifier botA = new TelegramInitDataVerifier("token-a");
+        TelegramInitDataVerifier botB = new TelegramInitDataVerifier("token-b");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            TelegramInitDataVerifier signer = i % 3 == 0 ? botA : i % 3 == 1 ? botB : new TelegramInitDataVerifier("x");
+            String hash = signer.calculateHash("auth_date=1700000000\nid=" + i);
+            content.append("id=").append(i).append("&auth_date=1700000000&hash=").append(hash)
+                    .append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        content.append("\n[пусто]\nid=1&id=2&hash=abc\nid=5000&hash=abc"); // без перевода строки в конце
+        Path input = dir.resolve("archive.txt");
+        Files.writeString(input, content, StandardCharsets.UTF_8);
+        Path summary = dir.resolve("summary.tgcs");
+
+        InitDataAudit.Report report = new InitDataAudit(List.of("token-a", "token-b"), 0, 4, 1024)
+                .run(List.of(input), summary);
+
+        assertEquals(1003, report.lines());
+        assertEquals(667, report.valid());
+        assertEquals(334, report.failures().get(FailureReason.BAD_SIGNATURE).longValue()); // 333 чужих + id=5000
+        assertEquals(1, report.failures().get(FailureReason.EMPTY).longValue());
+        assertEquals(1, report.failures().get(FailureReason.MALFORMED).longValue());
+
+        List<ColumnarSummaryReader.Row> rows = new ArrayList<>();
+        ColumnarSummaryReader.read(summary, rows::add);
+        assertEquals(1003, rows.size());
+
+        try (RandomAccessFile file = new RandomAccessFile(input.toFile(), "r")) {
+            for (ColumnarSummaryReader.Row row : rows) {
+                if (row.userId() >= 0 && row.userId() < 1000) {
+                    file.seek(row.offset());
+                    assertTrue(file.readLine().startsWith("id=" + row.userId() + "&"));
+                    assertEquals(1700000000L, row.authDate());
+                    int signer = (int) (row.userId() % 3);
+                    assertEquals(signer < 2 ? signer : -1, row.token());
+                    assertEquals(signer < 2, row.valid());
+                }
+            }
+        }
+    }
+
+    /**
+     * Ограничение возраста отклоняет архивные строки как EXPIRED, сохраняя заявленный id.
+     */
+    @Test
+    void shouldReportExpiredLinesWithClaimedUserId() throws Exception {
+        TelegramInitDataVerifier bot = new TelegramInitDataVerifier("token-a");
+        Path input = dir.resolve("old.txt");
+        Files.writeString(input, "id=42&auth_date=1000&hash=" + bot.calculateHash("auth_date=1000\nid=42") + "\n");
+        Path summary = dir.resolve("summary.tgcs");
+
+        InitDataAudit.Report report = new InitDataAudit(List.of("token-a"), 60, 1, InitDataAudit.DEFAULT_CHUNK_SIZE)
+                .run(List.of(input), summary);
+
+        List<ColumnarSummaryReader.Row> rows = new ArrayList<>();
+        ColumnarSummaryReader.read(summary, rows::add);
+        assertEquals(1, report.failures().get(FailureReason.EXPIRED).longValue());
+        assertEquals(42, rows.get(0).userId());
+        assertEquals(FailureReason.EXPIRED, rows.get(0).reason());
+    }
+}
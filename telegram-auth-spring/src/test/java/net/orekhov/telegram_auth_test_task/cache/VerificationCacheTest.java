@@ -0,0 +1,148 @@
+package net.orekhov.telegram_auth_test_task.cache;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+import net.orekhov.telegram_auth_test_task.core.VerificationResult;
+import net.orekhov.telegram_auth_test_task.core.VerifiedInitData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для {@link VerificationCache} с удалённым уровнем {@link InMemoryVerificationStore}.
+ */
+class VerificationCacheTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private final Function<String, VerificationResult> verifier = initData -> {
+        verifications.incrementAndGet();
+        return initData.contains("hash=good")
+                ? VerificationResult.success(VerifiedInitData.of(
+                        Map.of("id", "1", "auth_date", Long.toString(System.currentTimeMillis() / 1000))))
+                : VerificationResult.failure(FailureReason.BAD_SIGNATURE);
+    };
+
+    /**
+     * Повторная проверка той же строки обслуживается near-cache, неуспех не кэшируется.
+     */
+    @Test
+    void shouldCacheOnlySuccessfulVerification() {
+        VerificationCache cache = new VerificationCache(true, 3600, 0, 100, 1000, (RemoteVerificationStore) null);
+
+        assertTrue(cache.getOrVerify("id=1&hash=good", verifier).isValid());
+        assertTrue(cache.getOrVerify("id=1&hash=good", verifier).isValid());
+        assertEquals(FailureReason.BAD_SIGNATURE, cache.getOrVerify("id=1&hash=bad", verifier).reason());
+        assertEquals(FailureReason.BAD_SIGNATURE, cache.getOrVerify("id=1&hash=bad", verifier).reason());
+
+        assertEquals(3, verifications.get());
+    }
+
+    /**
+     * Успешная проверка записывается в удалённый уровень, но при промахе near-cache он не читается:
+     * другая реплика проверяет initData локально.
+     */
+    @Test
+    void shouldPopulateRemoteTierWithoutReadingItOnMiss() {
+        AtomicInteger remoteReads = new AtomicInteger();
+        InMemoryVerificationStore remote = new InMemoryVerificationStore() {
+            @Override
+            public Map<String, String> get(String key) {
+                remoteReads.incrementAndGet();
+                return super.get(key);
+            }
+        };
+        // запись в удалённый уровень выполняется в вызывающем потоке, чтобы не ждать фонового пула
+        VerificationCache replicaA = new VerificationCache(true, 3600, 0, 100, 1000, remote, Runnable::run);
+        VerificationCache replicaB = new VerificationCache(true, 3600, 0, 100, 1000, remote, Runnable::run);
+
+        replicaA.getOrVerify("id=1&hash=good", verifier);
+        VerificationResult result = replicaB.getOrVerify("id=1&hash=good", verifier);
+
+        assertEquals(1L, result.data().userId());
+        assertEquals(2, verifications.get());
+        assertEquals(0, remoteReads.get());
+        assertEquals("1", remote.get(VerificationCache.key("id=1&hash=good")).get("id"));
+    }
+
+    /**
+     * Просроченный по auth_date initData не кэшируется.
+     */
+    @Test
+    void shouldNotCacheExpiredAuthDate() {
+        VerificationCache cache = new VerificationCache(true, 60, 0, 100, 1000, (RemoteVerificationStore) null);
+        Function<String, VerificationResult> oldData = initData -> {
+            verifications.incrementAndGet();
+            return VerificationResult.success(VerifiedInitData.of(Map.of("id", "1", "auth_date", "1000")));
+        };
+
+        cache.getOrVerify("id=1&auth_date=1000&hash=good", oldData);
+        cache.getOrVerify("id=1&auth_date=1000&hash=good", oldData);
+
+        assertEquals(2, verifications.get());
+    }
+
+    /**
+     * Запись не переживает max-age проверки: initData старше {@code telegram.auth.max-age-seconds}
+     * из кэша не возвращается, даже если max-age кэша больше.
+     */
+    @Test
+    void shouldNotServeInitDataOlderThanAuthMaxAge() {
+        VerificationCache cache = new VerificationCache(true, 3600, 60, 100, 1000, (RemoteVerificationStore) null);
+        String authDate = Long.toString(System.currentTimeMillis() / 1000 - 120);
+        Function<String, VerificationResult> staleData = initData -> {
+            verifications.incrementAndGet();
+            return VerificationResult.success(VerifiedInitData.of(Map.of("id", "1", "auth_date", authDate)));
+        };
+
+        cache.getOrVerify("id=1&auth_date=" + authDate + "&hash=good", staleData);
+        cache.getOrVerify("id=1&auth_date=" + authDate + "&hash=good", staleData);
+        assertEquals(2, verifications.get());
+
+        cache.getOrVerify("id=1&hash=good", verifier);
+        cache.getOrVerify("id=1&hash=good", verifier);
+        assertEquals(3, verifications.get()); // свежий initData кэшируется как обычно
+    }
+
+    /**
+     * Ошибка записи в удалённый уровень не влияет на проверку, а запись отключается на время.
+     */
+    @Test
+    void shouldDisableRemoteWritesWhenRemoteIsSlow() {
+        AtomicInteger remoteCalls = new AtomicInteger();
+        RemoteVerificationStore slowRemote = new RemoteVerificationStore() {
+            @Override
+            public Map<String, String> get(String key) throws IOException {
+                throw new SocketTimeoutException("Read timed out");
+            }
+
+            @Override
+            public void put(String key, Map<String, String> data, long ttlMillis) throws IOException {
+                remoteCalls.incrementAndGet();
+                throw new SocketTimeoutException("Read timed out");
+            }
+        };
+        VerificationCache cache = new VerificationCache(true, 3600, 0, 100, 60_000, slowRemote, Runnable::run);
+
+        assertTrue(cache.getOrVerify("id=1&hash=good", verifier).isValid());
+        assertTrue(cache.getOrVerify("id=2&hash=good", verifier).isValid());
+
+        assertEquals(1, remoteCalls.get()); // после первой ошибки удалённый уровень не используется
+        assertEquals(2, verifications.get());
+    }
+
+    /**
+     * Кодирование значения для Redis обратимо для произвольных символов.
+     */
+    @Test
+    void redisValueEncodingShouldRoundTrip() {
+        Map<String, String> data = Map.of("id", "1", "first_name", "Иван & Co=", "username", "");
+
+        assertEquals(data, RedisVerificationStore.decode(RedisVerificationStore.encode(data)));
+    }
+}
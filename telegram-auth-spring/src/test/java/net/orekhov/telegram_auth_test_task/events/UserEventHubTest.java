@@ -0,0 +1,196 @@
+package net.orekhov.telegram_auth_test_task.events;
+
+import net.orekhov.telegram_auth_test_task.controller.EventStreamController;
+import net.orekhov.telegram_auth_test_task.security.TelegramUserDetails;
+import net.orekhov.telegram_auth_test_task.security.deny.TelegramDenyList;
+import net.orekhov.telegram_auth_test_task.security.role.TelegramRoleStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Тесты для {@link UserEventHub} через {@link EventStreamController}.
+ */
+class UserEventHubTest {
+
+    private TelegramDenyList denyList;
+    private TelegramRoleStore roleStore;
+    private UserEventHub hub;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        denyList = mock(TelegramDenyList.class);
+        roleStore = mock(TelegramRoleStore.class);
+        hub = new UserEventHub(denyList, roleStore, 60, 100, 2, 16, 10_000);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EventStreamController(hub))
+                .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Событие пользователя доходит до всех его подключений и только до них.
+     */
+    @Test
+    void publishShouldReachAllConnectionsOfUser() throws Exception {
+        long now = System.currentTimeMillis() / 1000;
+        MockHttpServletResponse first = open("123", now);
+        MockHttpServletResponse second = open("123", now);
+        MockHttpServletResponse other = open("456", now);
+
+        assertEquals(3, hub.getConnectionCount());
+        assertEquals(2, hub.publish(123, "update", "hello"));
+
+        awaitTrue(() -> content(first).contains("event:update") && content(second).contains("event:update"));
+        assertTrue(content(first).contains("data:hello"));
+        assertFalse(content(other).contains("event:update"));
+    }
+
+    /**
+     * Подключение закрывается таймером по истечении срока initData без проверки на каждое сообщение.
+     */
+    @Test
+    void expiredConnectionShouldBeClosedByTimer() throws Exception {
+        MockHttpServletResponse response = open("123", System.currentTimeMillis() / 1000 - 59);
+
+        assertEquals(1, hub.getConnectionCount());
+        awaitTrue(() -> hub.getConnectionCount() == 0);
+        awaitTrue(() -> content(response).contains("event:expired"));
+        assertEquals(0, hub.publish(123, "update", "late"));
+    }
+
+    /**
+     * Уже истёкший initData не регистрирует подключение.
+     */
+    @Test
+    void alreadyExpiredInitDataShouldNotBeRegistered() throws Exception {
+        MockHttpServletResponse response = open("123", 1000);
+
+        assertEquals(0, hub.getConnectionCount());
+        awaitTrue(() -> content(response).contains("event:expired"));
+    }
+
+    /**
+     * Заблокированный пользователь отключается на ближайшей проверке таймера.
+     */
+    @Test
+    void deniedUserShouldBeDisconnected() throws Exception {
+        open("666", System.currentTimeMillis() / 1000);
+        when(denyList.isDenied(666L)).thenReturn(true);
+
+        awaitTrue(() -> hub.getConnectionCount() == 0);
+    }
+
+    /**
+     * Смена ролей в хранилище доходит до подключённого пользователя событием {@code roles}.
+     */
+    @Test
+    void roleChangeShouldBePublishedToConnectedUser() throws Exception {
+        MockHttpServletResponse response = open("123", System.currentTimeMillis() / 1000);
+        when(roleStore.authoritiesFor(123L)).thenReturn(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        awaitTrue(() -> content(response).contains("event:roles"));
+        assertTrue(content(response).contains("data:ROLE_ADMIN"));
+    }
+
+    /**
+     * Подключение, отправка в которое зависла дольше таймаута записи, вытесняется:
+     * новые события не принимаются, а после возврата из записи поток завершается с ошибкой.
+     */
+    @Test
+    void stalledConnectionShouldBeEvicted() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        CountDownLatch sending = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        SseEmitter slowEmitter = new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws IOException {
+                sending.countDown();
+                try {
+                    unblock.await(); // клиент не читает, запись в сокет блокируется
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void completeWithError(Throwable ex) {
+                error.set(ex);
+            }
+        };
+        ExecutorService sender = Executors.newSingleThreadExecutor();
+        try {
+            EventConnection connection = new EventConnection(123, slowEmitter, Long.MAX_VALUE, 16, sender);
+            long timeout = TimeUnit.SECONDS.toNanos(10);
+
+            assertTrue(connection.enqueue(SseEmitter.event().name("update").data("1").build()));
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+            assertFalse(connection.isStalled(System.nanoTime(), timeout));
+            assertTrue(connection.isStalled(System.nanoTime() + timeout + 1, timeout));
+
+            connection.evict();
+            assertFalse(connection.enqueue(SseEmitter.event().name("update").data("2").build()));
+            unblock.countDown();
+
+            awaitTrue(() -> error.get() != null);
+        } finally {
+            sender.shutdownNow();
+        }
+    }
+
+    private MockHttpServletResponse open(String id, long authDate) throws Exception {
+        TelegramUserDetails user = new TelegramUserDetails(Map.of("id", id, "auth_date", Long.toString(authDate)));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        return mockMvc.perform(get("/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static String content(MockHttpServletResponse response) {
+        try {
+            return response.getContentAsString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 300 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,65 @@
+package net.orekhov.telegram_auth_test_task.journal;
+
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для {@link AuthJournal} и {@link AuthJournalReader}.
+ */
+class AuthJournalTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Проверяет, что записанные события читаются обратно, в том числе через границу сегментов.
+     */
+    @Test
+    void writtenEventsShouldBeReadBackAcrossSegments() throws Exception {
+        // сегмент на 3 записи, чтобы проверить переход на следующий файл
+        long segmentSize = JournalSegmentWriter.HEADER_SIZE + 3L * JournalSegmentWriter.RECORD_SIZE;
+        AuthJournal journal = new AuthJournal(true, dir.toString(), segmentSize, 16, OverflowPolicy.BLOCK, 1000, 10);
+
+        for (int i = 0; i < 7; i++) {
+            boolean success = i % 2 == 0;
+            assertTrue(journal.record(i, success ? AuthOutcome.SUCCESS : AuthOutcome.FAILURE,
+                    success ? null : FailureReason.BAD_SIGNATURE, "id=" + i + "&hash=x", i == 0 ? "::1" : "10.0.0." + i));
+        }
+        journal.close();
+
+        List<AuthJournalReader.Entry> entries = new ArrayList<>();
+        for (Path segment : AuthJournalReader.segments(dir)) {
+            AuthJournalReader.read(segment, entries::add);
+        }
+
+        assertEquals(3, AuthJournalReader.segments(dir).size());
+        assertEquals(7, entries.size());
+        assertEquals(0, entries.get(0).userId());
+        assertEquals("0:0:0:0:0:0:0:1", entries.get(0).clientIp());
+        assertEquals(AuthOutcome.FAILURE, entries.get(5).outcome());
+        assertEquals(FailureReason.BAD_SIGNATURE, entries.get(5).reason());
+        assertNull(entries.get(6).reason());
+        assertEquals("10.0.0.6", entries.get(6).clientIp());
+        assertEquals(64, entries.get(6).initDataSha256().length());
+    }
+
+    /**
+     * Проверяет, что выключенный журнал ничего не принимает и не создаёт файлов.
+     */
+    @Test
+    void disabledJournalShouldIgnoreEvents() throws Exception {
+        AuthJournal journal = new AuthJournal(false, dir.resolve("off").toString(), 1 << 20, 16,
+                OverflowPolicy.DROP, 0, 10);
+
+        assertFalse(journal.record(1, AuthOutcome.SUCCESS, null, "id=1", "127.0.0.1"));
+        assertFalse(dir.resolve("off").toFile().exists());
+        journal.close();
+    }
+}
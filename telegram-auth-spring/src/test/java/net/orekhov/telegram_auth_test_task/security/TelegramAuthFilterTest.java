@@ -0,0 +1,307 @@
+package net.orekhov.telegram_auth_test_task.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.orekhov.telegram_auth_test_task.cache.RemoteVerificationStore;
+import net.orekhov.telegram_auth_test_task.cache.VerificationCache;
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+import net.orekhov.telegram_auth_test_task.core.VerificationResult;
+import net.orekhov.telegram_auth_test_task.core.VerifiedInitData;
+import net.orekhov.telegram_auth_test_task.journal.AuthJournal;
+import net.orekhov.telegram_auth_test_task.journal.AuthOutcome;
+import net.orekhov.telegram_auth_test_task.security.admission.AimdConcurrencyLimiter;
+import net.orekhov.telegram_auth_test_task.security.deny.TelegramDenyList;
+import net.orekhov.telegram_auth_test_task.security.role.RoleSnapshot;
+import net.orekhov.telegram_auth_test_task.security.role.TelegramRoleStore;
+import net.orekhov.telegram_auth_test_task.service.TelegramAuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Юнит-тесты для фильтра {@link TelegramAuthFilter}, обеспечивающего аутентификацию Telegram WebApp.
+ */
+public class TelegramAuthFilterTest {
+
+    private TelegramAuthService authService;
+    private TelegramDenyList denyList;
+    private AuthJournal journal;
+    private TelegramAuthFilter filter;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setup() {
+        authService = mock(TelegramAuthService.class);
+        TelegramRoleStore roleStore = new TelegramRoleStore(() -> RoleSnapshot.builder()
+                .add(123L, List.of("ROLE_ADMIN"))
+                .build());
+        denyList = mock(TelegramDenyList.class);
+        journal = mock(AuthJournal.class);
+        VerificationCache verificationCache = new VerificationCache(false, 3600, 0, 100, 0, (RemoteVerificationStore) null);
+        filter = new TelegramAuthFilter(authService, verificationCache, roleStore, denyList, journal,
+                new AimdConcurrencyLimiter(false, 50, 8, 200, 100, 0.9, 0.25));
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
+        chain = mock(FilterChain.class);
+        SecurityContextHolder.clearContext(); // очищаем контекст перед каждым тестом
+    }
+
+    /**
+     * Тест проверяет, что если пользователь уже аутентифицирован,
+     * фильтр пропускается и не вызывает authService.
+     */
+    @Test
+    void shouldSkipFilterIfAlreadyAuthenticated() throws ServletException, IOException {
+        Authentication existingAuth = mock(Authentication.class);
+        SecurityContextHolder.getContext().setAuthentication(existingAuth);
+        when(request.getCookies()).thenReturn(null);
+
+        filter.doFilterInternal(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verifyNoInteractions(authService); // ни одного вызова к сервису
+    }
+
+    /**
+     * Тест проверяет, что если cookies отсутствуют,
+     * фильтр не выполняет аутентификацию.
+     */
+    @Test
+    void shouldNotAuthenticateIfNoCookies() throws ServletException, IOException {
+        when(request.getCookies()).thenReturn(null);
+
+        filter.doFilterInternal(request, response, chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(authService, never()).verify(any());
+    }
+
+    /**
+     * Тест проверяет, что при некорректных initData (authService вернул отказ),
+     * пользователь не аутентифицируется.
+     */
+    @Test
+    void shouldNotAuthenticateIfInvalidInitData() throws ServletException, IOException {
+        Cookie cookie = new Cookie("tg_init_data", "invalid_data");
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+        when(authService.verify("invalid_data")).thenReturn(VerificationResult.failure(FailureReason.BAD_SIGNATURE));
+
+        filter.doFilterInternal(request, response, chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(authService).verify("invalid_data");
+        verify(journal).record(eq(-1L), eq(AuthOutcome.FAILURE), eq(FailureReason.BAD_SIGNATURE),
+                eq("invalid_data"), any());
+    }
+
+    /**
+     * Тест проверяет, что при корректных initData происходит успешная аутентификация,
+     * и пользователь сохраняется в SecurityContext.
+     */
+    @Test
+    void shouldAuthenticateIfValidInitData() throws ServletException, IOException {
+        Cookie cookie = new Cookie("tg_init_data", "id=123&first_name=John&username=john_doe&hash=abc123");
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+
+        // Подготавливаем успешную валидацию initData
+        when(authService.verify("id=123&first_name=John&username=john_doe&hash=abc123"))
+                .thenReturn(valid(Map.of(
+                        "id", "123",
+                        "first_name", "John",
+                        "username", "john_doe"
+                )));
+
+        filter.doFilterInternal(request, response, chain);
+
+        // Проверяем, что аутентификация установлена
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(auth);
+        assertTrue(auth.getPrincipal() instanceof TelegramUserDetails);
+        assertEquals("john_doe", ((TelegramUserDetails) auth.getPrincipal()).getUsername());
+    }
+
+    /**
+     * Тест проверяет, что роли из {@link TelegramRoleStore} попадают в аутентификацию.
+     */
+    @Test
+    void shouldAttachAuthoritiesFromRoleStore() throws ServletException, IOException {
+        Cookie cookie = new Cookie("tg_init_data", "id=123&hash=abc123");
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+        when(authService.verify("id=123&hash=abc123"))
+                .thenReturn(valid(Map.of("id", "123")));
+
+        filter.doFilterInternal(request, response, chain);
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(auth);
+        assertEquals(1, auth.getAuthorities().size());
+        assertEquals("ROLE_ADMIN", auth.getAuthorities().iterator().next().getAuthority());
+    }
+
+    /**
+     * Тест проверяет, что пользователь из списка блокировок не аутентифицируется,
+     * даже если initData валиден.
+     */
+    @Test
+    void shouldNotAuthenticateDeniedUser() throws ServletException, IOException {
+        Cookie cookie = new Cookie("tg_init_data", "id=666&hash=abc123");
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+        when(authService.verify("id=666&hash=abc123"))
+                .thenReturn(valid(Map.of("id", "666")));
+        when(denyList.isDenied(666L)).thenReturn(true);
+
+        filter.doFilterInternal(request, response, chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(chain).doFilter(request, response);
+        verify(journal).record(eq(666L), eq(AuthOutcome.DENIED), isNull(), eq("id=666&hash=abc123"), any());
+    }
+
+    /**
+     * Тест проверяет ленивый режим: initData проверяется только при первом обращении
+     * к аутентификации и не более одного раза за запрос.
+     */
+    @Test
+    void lazyModeShouldVerifyOnceOnFirstAccess() throws ServletException, IOException {
+        filter.setLazy(true);
+        Cookie cookie = new Cookie("tg_init_data", "id=123&hash=abc123");
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+        when(authService.verify("id=123&hash=abc123"))
+                .thenReturn(valid(Map.of("id", "123", "username", "lazy_user")));
+
+        filter.doFilterInternal(request, response, chain);
+        verifyNoInteractions(authService); // до обращения к контексту проверки нет
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.getContext().getAuthentication();
+
+        assertEquals("lazy_user", ((TelegramUserDetails) auth.getPrincipal()).getUsername());
+        verify(authService, times(1)).verify(any());
+    }
+
+    /**
+     * Тест измеряет сэкономленную работу на смешанном трафике: из 10 запросов
+     * только 3 читают пользователя, и только они выполняют проверку.
+     */
+    @Test
+    void lazyModeShouldSkipVerificationForRequestsNotReadingPrincipal() throws ServletException, IOException {
+        filter.setLazy(true);
+        Cookie cookie = new Cookie("tg_init_data", "id=123&hash=abc123");
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+        when(authService.verify("id=123&hash=abc123"))
+                .thenReturn(valid(Map.of("id", "123")));
+
+        for (int i = 0; i < 10; i++) {
+            SecurityContextHolder.clearContext();
+            filter.doFilterInternal(request, response, chain);
+            if (i % 3 == 0 && i > 0) {
+                assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+            }
+        }
+
+        assertEquals(10, filter.getFilteredRequestCount());
+        assertEquals(3, filter.getVerifiedRequestCount());
+        verify(authService, times(3)).verify(any());
+    }
+
+    /**
+     * Тест проверяет, что при исчерпанном лимите запрос сразу получает 503 с Retry-After,
+     * а запрос с уже закэшированной проверкой initData проходит за счёт приоритетного запаса.
+     */
+    @Test
+    void shouldShedUncachedRequestsOverLimitAndAdmitCachedOnes() throws ServletException, IOException {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(true, 1, 1, 1, 1000, 0.9, 1.0);
+        VerificationCache cache = new VerificationCache(true, 3600, 0, 100, 0, (RemoteVerificationStore) null);
+        TelegramAuthFilter limited = new TelegramAuthFilter(authService, cache,
+                new TelegramRoleStore(RoleSnapshot::empty), denyList, journal, limiter);
+        when(authService.verify("id=123&hash=abc123")).thenReturn(valid(Map.of("id", "123")));
+
+        // первый запрос проверяет initData и кладёт результат в кэш
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("tg_init_data", "id=123&hash=abc123")});
+        limited.doFilterInternal(request, response, chain);
+
+        AimdConcurrencyLimiter.Permit busy = limiter.tryAcquire(false); // лимит 1 занят
+        SecurityContextHolder.clearContext();
+
+        HttpServletRequest uncached = mock(HttpServletRequest.class);
+        when(uncached.getCookies()).thenReturn(new Cookie[]{new Cookie("tg_init_data", "id=456&hash=abc456")});
+        limited.doFilterInternal(uncached, response, chain);
+
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(response).setHeader("Retry-After", "1");
+        verify(chain, never()).doFilter(uncached, response);
+        verify(authService, never()).verify("id=456&hash=abc456");
+
+        limited.doFilterInternal(request, response, chain);
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(authService, times(1)).verify("id=123&hash=abc123");
+        assertEquals(1, limiter.getShedCount());
+        busy.release();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    /**
+     * Тест проверяет, что разрешение ограничителя освобождается до передачи запроса дальше по цепочке:
+     * медленный контроллер не занимает лимит проверки.
+     */
+    @Test
+    void shouldReleasePermitBeforeChain() throws ServletException, IOException {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(true, 1, 1, 1, 1000, 0.9, 0);
+        TelegramAuthFilter limited = new TelegramAuthFilter(authService,
+                new VerificationCache(true, 3600, 0, 100, 0, (RemoteVerificationStore) null),
+                new TelegramRoleStore(RoleSnapshot::empty), denyList, journal, limiter);
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("tg_init_data", "id=123&hash=abc123")});
+        when(authService.verify("id=123&hash=abc123")).thenReturn(valid(Map.of("id", "123")));
+        AtomicInteger inFlightInChain = new AtomicInteger(-1);
+        doAnswer(invocation -> {
+            inFlightInChain.set(limiter.getInFlight());
+            return null;
+        }).when(chain).doFilter(request, response);
+
+        limited.doFilterInternal(request, response, chain);
+
+        assertEquals(0, inFlightInChain.get());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    /**
+     * Тест проверяет, что в ленивом режиме запрос, не читающий пользователя, не разбирает cookie
+     * и не отклоняется ограничителем даже при исчерпанном лимите.
+     */
+    @Test
+    void lazyModeShouldNotTouchCookieOrLimiterForRequestsNotReadingPrincipal() throws ServletException, IOException {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(true, 1, 1, 1, 1000, 0.9, 0);
+        TelegramAuthFilter lazyFilter = new TelegramAuthFilter(authService,
+                new VerificationCache(true, 3600, 0, 100, 0, (RemoteVerificationStore) null),
+                new TelegramRoleStore(RoleSnapshot::empty), denyList, journal, limiter);
+        lazyFilter.setLazy(true);
+        AimdConcurrencyLimiter.Permit busy = limiter.tryAcquire(false); // лимит 1 занят
+
+        lazyFilter.doFilterInternal(request, response, chain);
+
+        verify(chain).doFilter(request, response);
+        verify(request, never()).getCookies();
+        verify(response, never()).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertEquals(0, limiter.getShedCount());
+        busy.release();
+    }
+
+    private static VerificationResult valid(Map<String, String> data) {
+        return VerificationResult.success(VerifiedInitData.of(data));
+    }
+}
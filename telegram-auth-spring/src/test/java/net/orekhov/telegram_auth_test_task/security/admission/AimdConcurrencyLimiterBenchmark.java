@@ -0,0 +1,107 @@
+package net.orekhov.telegram_auth_test_task.security.admission;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Нагрузочный бенчмарк {@link AimdConcurrencyLimiter}: 64 клиента без пауз против сервера,
+ * который обрабатывает 4 запроса одновременно по 2 мс (модель ядер, занятых HMAC и рендерингом).
+ * Без ограничителя запросы копятся в очереди, и p99 растёт с числом клиентов; с ограничителем
+ * лишние запросы сразу получают отказ, а p99 допущенных остаётся около целевой задержки.
+ *
+ * <p>Не запускается как тест. Запуск после {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     net.orekhov.telegram_auth_test_task.security.admission.AimdConcurrencyLimiterBenchmark
+ * </pre>
+ */
+public class AimdConcurrencyLimiterBenchmark {
+
+    private static final int CLIENTS = 64;
+    private static final int CORES = 4;
+    private static final long DURATION_SECONDS = 2;
+    private static final long TARGET_MILLIS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        long[] unlimited = runLoad(new AimdConcurrencyLimiter(false, 50, 1, 200, TARGET_MILLIS, 0.9, 0));
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(true, 50, 1, 200, TARGET_MILLIS, 0.9, 0);
+        long[] limited = runLoad(limiter);
+
+        System.out.printf("p99 без ограничителя: %.1f мс (%d запросов), с ограничителем: %.1f мс (%d запросов, "
+                        + "отклонено %d, лимит %d)%n",
+                percentile(unlimited, 0.99) / 1e6, unlimited.length, percentile(limited, 0.99) / 1e6,
+                limited.length, limiter.getShedCount(), limiter.getLimit());
+    }
+
+    private static long[] runLoad(AimdConcurrencyLimiter limiter) throws InterruptedException {
+        Semaphore cores = new Semaphore(CORES, true);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        long warmUpEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        List<long[]> perClient = new ArrayList<>();
+        AtomicLong total = new AtomicLong();
+        List<Thread> clients = new ArrayList<>();
+
+        for (int c = 0; c < CLIENTS; c++) {
+            long[] samples = new long[20_000];
+            perClient.add(samples);
+            Thread client = new Thread(() -> {
+                int count = 0;
+                while (System.nanoTime() < deadline && count < samples.length) {
+                    long start = System.nanoTime();
+                    AimdConcurrencyLimiter.Permit permit = limiter.tryAcquire(false);
+                    if (permit == null) {
+                        sleepMillis(1); // клиент повторяет после Retry-After
+                        continue;
+                    }
+                    try {
+                        cores.acquireUninterruptibly();
+                        try {
+                            sleepMillis(2);
+                        } finally {
+                            cores.release();
+                        }
+                    } finally {
+                        permit.release();
+                    }
+                    if (start > warmUpEnd) {
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                }
+                samples[samples.length - 1] = count; // число измерений в последней ячейке
+                total.addAndGet(count);
+            });
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+
+        long[] latencies = new long[(int) total.get()];
+        int position = 0;
+        for (long[] samples : perClient) {
+            int count = (int) samples[samples.length - 1];
+            System.arraycopy(samples, 0, latencies, position, count);
+            position += count;
+        }
+        return latencies;
+    }
+
+    private static long percentile(long[] values, double quantile) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))];
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package net.orekhov.telegram_auth_test_task.security.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для {@link AimdConcurrencyLimiter}. Поведение под перегрузкой измеряет
+ * {@link AimdConcurrencyLimiterBenchmark}.
+ */
+class AimdConcurrencyLimiterTest {
+
+    /**
+     * Сверх лимита разрешения не выдаются; приоритетным запросам доступен запас.
+     */
+    @Test
+    void shouldShedOverLimitAndKeepHeadroomForPriority() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(true, 4, 1, 10, 1000, 0.5, 0.5);
+        List<AimdConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            permits.add(limiter.tryAcquire(false));
+        }
+
+        assertNull(limiter.tryAcquire(false));
+        assertNotNull(limiter.tryAcquire(true));
+        assertNotNull(limiter.tryAcquire(true));
+        assertNull(limiter.tryAcquire(true));
+        assertEquals(2, limiter.getShedCount());
+        assertEquals(6, limiter.getInFlight());
+        permits.forEach(AimdConcurrencyLimiter.Permit::release);
+    }
+
+    /**
+     * Медленные запросы уменьшают лимит мультипликативно, быстрые при загрузке — увеличивают аддитивно.
+     */
+    @Test
+    void limitShouldFollowLatency() throws InterruptedException {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(true, 20, 2, 40, 5, 0.5, 0);
+
+        AimdConcurrencyLimiter.Permit slow = limiter.tryAcquire(false);
+        Thread.sleep(10);
+        slow.release();
+        assertEquals(10, limiter.getLimit());
+
+        for (int round = 0; round < 3; round++) {
+            Thread.sleep(6); // лимит пересчитывается по окончании окна длиной в целевую задержку
+            List<AimdConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            for (int i = 0; i < limiter.getLimit(); i++) {
+                permits.add(limiter.tryAcquire(false));
+            }
+            permits.forEach(AimdConcurrencyLimiter.Permit::release);
+        }
+        assertTrue(limiter.getLimit() > 10, "лимит должен вырасти, получено " + limiter.getLimit());
+    }
+
+    /**
+     * Выключенный ограничитель допускает всё и не считает запросы.
+     */
+    @Test
+    void disabledLimiterShouldAdmitEverything() {
+        AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(false, 1, 1, 1, 1, 0.5, 0);
+
+        for (int i = 0; i < 100; i++) {
+            assertNotNull(limiter.tryAcquire(false));
+        }
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(0, limiter.getShedCount());
+    }
+}
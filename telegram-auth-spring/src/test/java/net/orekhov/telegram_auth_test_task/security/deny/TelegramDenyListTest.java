@@ -0,0 +1,72 @@
+package net.orekhov.telegram_auth_test_task.security.deny;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для {@link TelegramDenyList} и формата {@link DenyListFile}.
+ */
+class TelegramDenyListTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Проверяет поиск по отсортированному файлу, включая границы и отсутствующие id.
+     */
+    @Test
+    void fileShouldContainWrittenIds() throws IOException {
+        Path file = dir.resolve("deny.bin");
+        long[] ids = new long[100_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (ids.length - i) * 3L; // в обратном порядке — запись должна отсортировать
+        }
+        DenyListFile.write(file, ids);
+
+        DenyListFile list = DenyListFile.open(file);
+        assertEquals(100_000, list.size());
+        assertTrue(list.contains(3));
+        assertTrue(list.contains(300_000));
+        assertTrue(list.contains(150_000));
+        assertFalse(list.contains(0));
+        assertFalse(list.contains(4));
+        assertFalse(list.contains(300_003));
+    }
+
+    /**
+     * Проверяет, что повреждённый файл отвергается.
+     */
+    @Test
+    void openShouldRejectCorruptedFile() throws IOException {
+        Path file = dir.resolve("deny.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+
+        assertThrows(IOException.class, () -> DenyListFile.open(file));
+    }
+
+    /**
+     * Проверяет, что замена файла подхватывается при перезагрузке,
+     * а без настроенного файла никто не блокируется.
+     */
+    @Test
+    void reloadShouldPickUpReplacedFile() throws IOException {
+        Path file = dir.resolve("deny.bin");
+        DenyListFile.write(file, new long[]{42});
+        TelegramDenyList denyList = new TelegramDenyList(file);
+        assertTrue(denyList.isDenied(42));
+
+        DenyListFile.write(file, new long[]{7});
+        denyList.reload();
+        assertFalse(denyList.isDenied(42));
+        assertTrue(denyList.isDenied(7));
+        denyList.close();
+
+        assertFalse(new TelegramDenyList((Path) null).isDenied(7));
+    }
+}
@@ -0,0 +1,85 @@
+package net.orekhov.telegram_auth_test_task.security.role;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты для {@link TelegramRoleStore}, {@link RoleSnapshot} и {@link FileRoleSource}.
+ */
+class TelegramRoleStoreTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * Проверяет поиск ролей в снимке, включая коллизии и отсутствующие id.
+     */
+    @Test
+    void snapshotShouldFindAuthoritiesById() {
+        RoleSnapshot.Builder builder = RoleSnapshot.builder();
+        for (long id = 1; id <= 1000; id++) {
+            builder.add(id * 1024, List.of(id % 2 == 0 ? "ROLE_EVEN" : "ROLE_ODD"));
+        }
+        RoleSnapshot snapshot = builder.build();
+
+        assertEquals(1000, snapshot.size());
+        assertEquals("ROLE_EVEN", names(snapshot.authoritiesFor(2 * 1024)).get(0));
+        assertEquals("ROLE_ODD", names(snapshot.authoritiesFor(3 * 1024)).get(0));
+        assertTrue(snapshot.authoritiesFor(5).isEmpty());
+        assertSame(snapshot.authoritiesFor(2 * 1024), snapshot.authoritiesFor(4 * 1024)); // общий список
+    }
+
+    /**
+     * Проверяет разбор файла ролей: комментарии и некорректные строки пропускаются.
+     */
+    @Test
+    void fileSourceShouldParseRolesAndSkipInvalidLines() throws IOException {
+        Path file = dir.resolve("roles.txt");
+        Files.writeString(file, """
+                # администраторы
+                100=ROLE_ADMIN, ROLE_USER
+                not-a-number=ROLE_ADMIN
+
+                200=ROLE_USER
+                """);
+
+        RoleSnapshot snapshot = new FileRoleSource(file).load();
+
+        assertEquals(2, snapshot.size());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), names(snapshot.authoritiesFor(100)));
+        assertEquals(List.of("ROLE_USER"), names(snapshot.authoritiesFor(200)));
+    }
+
+    /**
+     * Проверяет, что перезагрузка подменяет снимок, а ошибка загрузки сохраняет предыдущий.
+     */
+    @Test
+    void reloadShouldSwapSnapshotAndKeepPreviousOnError() throws IOException {
+        Path file = dir.resolve("roles.txt");
+        Files.writeString(file, "100=ROLE_ADMIN\n");
+        TelegramRoleStore store = new TelegramRoleStore(new FileRoleSource(file));
+        assertEquals(List.of("ROLE_ADMIN"), names(store.authoritiesFor(100)));
+
+        Files.writeString(file, "100=ROLE_USER\n");
+        store.reload();
+        assertEquals(List.of("ROLE_USER"), names(store.authoritiesFor(100)));
+
+        Files.delete(file);
+        store.reload();
+        assertEquals(List.of("ROLE_USER"), names(store.authoritiesFor(100)));
+
+        store.close();
+    }
+
+    private static List<String> names(List<GrantedAuthority> authorities) {
+        return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
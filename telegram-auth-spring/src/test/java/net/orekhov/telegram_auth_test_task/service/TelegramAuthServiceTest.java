@@ -1,5 +1,7 @@
 package net.orekhov.telegram_auth_test_task.service;
 
+import net.orekhov.telegram_auth_test_task.core.FailureReason;
+import net.orekhov.telegram_auth_test_task.core.TelegramInitDataVerifier;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -73,6 +75,20 @@ class TelegramAuthServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    /**
+     * Тест: verify возвращает причину отказа вместо пустого результата.
+     */
+    @Test
+    void verify_invalidData_shouldReturnFailureReason() {
+        assertEquals(FailureReason.EMPTY, authService.verify("[пусто]").reason());
+        assertEquals(FailureReason.NO_HASH, authService.verify("id=123&first_name=Test").reason());
+        assertEquals(FailureReason.NO_ID, authService.verify("username=testuser&hash=fakehash").reason());
+        assertEquals(FailureReason.BAD_SIGNATURE, authService.verify("id=123&hash=wronghash").reason());
+
+        authService.setBotToken("");
+        assertEquals(FailureReason.INTERNAL_ERROR, authService.verify("id=123&hash=wronghash").reason());
+    }
+
     /**
      * Тест: isInitDataValid должен вернуть true при корректных данных.
      */
@@ -96,14 +112,9 @@ class TelegramAuthServiceTest {
     }
 
     /**
-     * Хелпер: вызывает приватный метод calculateHmac через reflection.
+     * Хелпер: подписывает строку проверки данных тем же верификатором, что использует сервис.
      */
-    private String authServiceTestHash(String dataCheckString, String token) throws Exception {
-        TelegramAuthService testService = new TelegramAuthService();
-        testService.setBotToken(token);
-
-        var method = TelegramAuthService.class.getDeclaredMethod("calculateHmac", String.class);
-        method.setAccessible(true);
-        return (String) method.invoke(testService, dataCheckString);
+    private String authServiceTestHash(String dataCheckString, String token) {
+        return new TelegramInitDataVerifier(token).calculateHash(dataCheckString);
     }
 }
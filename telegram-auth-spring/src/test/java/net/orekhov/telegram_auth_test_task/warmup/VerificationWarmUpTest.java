@@ -0,0 +1,92 @@
+package net.orekhov.telegram_auth_test_task.warmup;
+
+import net.orekhov.telegram_auth_test_task.security.deny.TelegramDenyList;
+import net.orekhov.telegram_auth_test_task.security.role.RoleSnapshot;
+import net.orekhov.telegram_auth_test_task.security.role.TelegramRoleStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.logging.LoggingSystem;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тесты для {@link VerificationWarmUp} и {@link WarmUpHealthIndicator}.
+ */
+class VerificationWarmUpTest {
+
+    private VerificationWarmUp warmUp(boolean enabled, int iterations, long timeBudgetMillis) {
+        return warmUp(enabled, iterations, timeBudgetMillis, null);
+    }
+
+    private VerificationWarmUp warmUp(boolean enabled, int iterations, long timeBudgetMillis,
+                                      ITemplateEngine templateEngine) {
+        return new VerificationWarmUp(enabled, iterations, timeBudgetMillis, new TelegramRoleStore(RoleSnapshot::empty),
+                new TelegramDenyList((Path) null), templateEngine, (LoggingSystem) null);
+    }
+
+    /**
+     * До прогрева индикатор готовности — OUT_OF_SERVICE, после — UP с числом итераций.
+     */
+    @Test
+    void readinessShouldBeReportedOnlyAfterWarmUp() {
+        VerificationWarmUp warmUp = warmUp(true, 500, 60_000);
+        WarmUpHealthIndicator indicator = new WarmUpHealthIndicator(warmUp);
+
+        assertEquals(Status.OUT_OF_SERVICE, indicator.health().getStatus());
+
+        warmUp.warmUp();
+
+        Health health = indicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(500, health.getDetails().get("iterations"));
+        assertTrue(warmUp.isComplete());
+    }
+
+    /**
+     * Бюджет времени останавливает прогрев раньше числа итераций.
+     */
+    @Test
+    void timeBudgetShouldStopWarmUp() {
+        VerificationWarmUp warmUp = warmUp(true, Integer.MAX_VALUE, 50);
+
+        warmUp.warmUp();
+
+        assertTrue(warmUp.isComplete());
+        assertTrue(warmUp.getCompletedIterations() > 0);
+        assertTrue(warmUp.getElapsedMillis() < 5_000);
+    }
+
+    /**
+     * Синтетические запросы проходят настоящий фильтр: подписанные верно аутентифицируются
+     * (в том числе повторные — из кэша) и рендерят главную страницу, каждый восьмой — страницу входа.
+     */
+    @Test
+    void warmUpShouldAuthenticateThroughFilter() {
+        ITemplateEngine templateEngine = mock(ITemplateEngine.class);
+        when(templateEngine.process(anyString(), any(IContext.class))).thenReturn("");
+
+        warmUp(true, 16, 60_000, templateEngine).warmUp();
+
+        verify(templateEngine, times(14)).process(eq("index"), any(IContext.class));
+        verify(templateEngine, times(2)).process(eq("unauthenticated"), any(IContext.class));
+    }
+
+    /**
+     * Выключенный прогрев сразу считается завершённым и не мешает готовности.
+     */
+    @Test
+    void disabledWarmUpShouldBeReadyImmediately() {
+        VerificationWarmUp warmUp = warmUp(false, 500, 60_000);
+
+        warmUp.warmUp();
+
+        assertEquals(Status.UP, new WarmUpHealthIndicator(warmUp).health().getStatus());
+        assertEquals(0, warmUp.getCompletedIterations());
+    }
+}